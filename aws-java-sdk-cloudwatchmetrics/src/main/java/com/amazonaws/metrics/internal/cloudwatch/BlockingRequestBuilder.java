@@ -18,11 +18,7 @@ import static com.amazonaws.metrics.internal.cloudwatch.CloudWatchMetricConfig.N
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.metrics.AwsSdkMetrics;
@@ -31,9 +27,7 @@ import com.amazonaws.metrics.internal.cloudwatch.spi.Dimensions;
 import com.amazonaws.services.cloudwatch.model.Dimension;
 import com.amazonaws.services.cloudwatch.model.MetricDatum;
 import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
-import com.amazonaws.services.cloudwatch.model.StatisticSet;
 import com.amazonaws.util.AwsHostNameUtils;
-import com.amazonaws.util.json.Jackson;
 
 /**
  * An internal builder used to retrieve the next batch of requests to be sent to
@@ -43,111 +37,45 @@ import com.amazonaws.util.json.Jackson;
 class BlockingRequestBuilder {
     private static final String OS_METRIC_NAME = MachineMetric.getOSMetricName();
     private final MachineMetricFactory machineMetricFactory = new MachineMetricFactory();
-    private final BlockingQueue<MetricDatum> queue;
+    private final MetricAggregator aggregator;
     private final long timeoutNano;
+    private long lastFlushNano = System.nanoTime();
 
-    BlockingRequestBuilder(CloudWatchMetricConfig config, BlockingQueue<MetricDatum> queue) {
-        this.queue = queue;
+    BlockingRequestBuilder(CloudWatchMetricConfig config, MetricAggregator aggregator) {
+        this.aggregator = aggregator;
         this.timeoutNano = TimeUnit.MILLISECONDS.toNanos(config.getQueuePollTimeoutMilli());
     }
 
     /**
      * Returns the next batch of {@link PutMetricDataRequest} to be sent to
-     * Amazon CloudWatch, blocking as necessary to gather and accumulate the
-     * necessary statistics. If there is no metrics data, this call blocks
-     * indefinitely. If there is metrics data, this call will block up to about
+     * Amazon CloudWatch, blocking until about
      * {@link CloudWatchMetricConfig#getQueuePollTimeoutMilli()} number of
-     * milliseconds.
+     * milliseconds have passed since the previous batch, during which the
+     * metrics data is aggregated into statistics. The returned batch is empty
+     * if there is no metrics data.
      */
     Iterable<PutMetricDataRequest> nextUploadUnits() throws InterruptedException {
-        final Map<String,MetricDatum> uniqueMetrics = new HashMap<String,MetricDatum>();
-        long startNano = System.nanoTime();
-        
-        while(true) {
-            final long elapsedNano = System.nanoTime() - startNano;
-            if (elapsedNano >= timeoutNano) {
-                return toPutMetricDataRequests(uniqueMetrics);
-            }
-            MetricDatum datum = queue.poll(timeoutNano - elapsedNano, TimeUnit.NANOSECONDS);
-            if (datum == null) {
-                // timed out
-                if (uniqueMetrics.size() > 0) {
-                    // return whatever we have so far
-                    return toPutMetricDataRequests(uniqueMetrics);
-                }
-                // zero AWS related metrics
-                if (AwsSdkMetrics.isMachineMetricExcluded()) {
-                    // Short note: nothing to do, so just wait indefinitely.
-                    // (Long note: There exists a pedagogical case where the
-                    // next statement is executed followed by no subsequent AWS
-                    // traffic whatsoever, and then the machine metric is enabled 
-                    // via JMX.
-                    // In such case, we require the metric generation to be
-                    // disabled and then re-enabled (eg via JMX).
-                    // So why not always wake up periodically instead of going
-                    // into long wait ?
-                    // I (hchar@) think we should optimize for the most typical
-                    // cases instead of the edge cases. Going into long wait has
-                    // the benefit of relatively less runtime footprint.)
-                    datum = queue.take();   
-                    startNano = System.nanoTime();
-                }
-            }
-            // Note at this point datum is null if and only if there is no
-            // pending AWS related metrics but machine metrics is enabled
-            if (datum != null)
-                summarize(datum, uniqueMetrics);
-        }
-    }
-
-    /**
-     * Summarizes the given datum into the statistics of the respective unique metric.
-     */
-    private void summarize(MetricDatum datum, Map<String, MetricDatum> uniqueMetrics) {
-        Double value = datum.getValue();
-        if (value == null) {
-            return;
+        final long remainingNano = timeoutNano - (System.nanoTime() - lastFlushNano);
+        if (remainingNano > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNano);
         }
-        List<Dimension> dims = datum.getDimensions();
-        Collections.sort(dims, DimensionComparator.INSTANCE);
-        String metricName = datum.getMetricName();
-        String key = metricName + Jackson.toJsonString(dims);
-        MetricDatum statDatum = uniqueMetrics.get(key);
-        if (statDatum == null) {
-            statDatum = new MetricDatum()
-                .withDimensions(datum.getDimensions())
-                .withMetricName(metricName)
-                .withUnit(datum.getUnit())
-                .withStatisticValues(new StatisticSet()
-                    .withMaximum(value)
-                    .withMinimum(value)
-                    .withSampleCount(0.0)
-                    .withSum(0.0))
-                ;
-            uniqueMetrics.put(key, statDatum);
-        }
-        StatisticSet stat = statDatum.getStatisticValues();
-        stat.setSampleCount(stat.getSampleCount() + 1.0);
-        stat.setSum(stat.getSum() + value);
-        if (value > stat.getMaximum()) {
-            stat.setMaximum(value);
-        } else if (value < stat.getMinimum()) {
-            stat.setMinimum(value);
+        lastFlushNano = System.nanoTime();
+        // Opportunistically generates some machine metrics whenever there
+        // is metrics consolidation
+        for (MetricDatum datum: machineMetricFactory.generateMetrics()) {
+            aggregator.record(datum);
         }
+        return toPutMetricDataRequests(aggregator.flush());
     }
+
     /**
      * Consolidates the input metrics into a list of PutMetricDataRequest, each
      * within the maximum size limit imposed by CloudWatch.
      */
-    private Iterable<PutMetricDataRequest> toPutMetricDataRequests(Map<String, MetricDatum> uniqueMetrics) {
-        // Opportunistically generates some machine metrics whenever there
-        // is metrics consolidation
-        for (MetricDatum datum: machineMetricFactory.generateMetrics()) {
-            summarize(datum, uniqueMetrics);
-        }
+    private Iterable<PutMetricDataRequest> toPutMetricDataRequests(Collection<MetricDatum> uniqueMetrics) {
         List<PutMetricDataRequest> list = new ArrayList<PutMetricDataRequest>();
         List<MetricDatum> data = new ArrayList<MetricDatum>();
-        for (MetricDatum m: uniqueMetrics.values()) {
+        for (MetricDatum m: uniqueMetrics) {
             data.add(m);
             if (data.size() == CloudWatchMetricConfig.MAX_METRICS_DATUM_SIZE) {
                 list.addAll(newPutMetricDataRequests(data));
@@ -66,9 +66,10 @@ public class CloudWatchMetricConfig {
      */
     static final int MAX_METRICS_DATUM_SIZE = 20;
     /**
-     * Default metrics queue size. If the queue size
-     * exceeds this value, then excessive metrics will be dropped to prevent
-     * resource exhaustion.
+     * Default metrics queue size, which is the maximum number of unique
+     * metrics (metric name and dimensions) aggregated between two uploads. If
+     * more unique metrics are seen, then the excessive metrics will be dropped
+     * to prevent resource exhaustion.
      */
     public static final int DEFAULT_METRICS_QSIZE = 1000;
     /**
@@ -184,7 +185,8 @@ public class CloudWatchMetricConfig {
 
     /**
      * Configure the metric queue size, overriding the default. Must be at
-     * least 1.
+     * least 1. Data points of the same metric are aggregated in memory, so
+     * this bounds the number of unique metrics rather than data points.
      *
      * @see #DEFAULT_METRICS_QSIZE
      */
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics.internal.cloudwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.services.cloudwatch.model.Dimension;
+import com.amazonaws.services.cloudwatch.model.MetricDatum;
+import com.amazonaws.services.cloudwatch.model.StatisticSet;
+
+/**
+ * Aggregates metric data points in memory into the count, sum, minimum and maximum of each unique
+ * metric, i.e. per metric name, unit and set of dimensions such as service and request type.
+ * Recording a data point takes no lock and does not queue the data point, so collecting metrics
+ * costs a map lookup and a few atomic operations per data point regardless of the request rate.
+ * The uploader periodically {@link #flush() flushes} the aggregated statistics.
+ */
+@ThreadSafe
+@SdkInternalApi
+public class MetricAggregator {
+
+    /**
+     * Number of stripes the in-flight writers of an interval are counted in, so that threads
+     * recording concurrently mostly update counters of their own.
+     */
+    private static final int WRITER_STRIPES = 16;
+
+    /**
+     * Distance between two writer counters, so that each one sits in a cache line of its own.
+     */
+    private static final int WRITER_STRIPE_PADDING = 16;
+
+    private final int maxMetrics;
+
+    private volatile Interval current = new Interval();
+
+    /**
+     * @param maxMetrics
+     *            Maximum number of unique metrics aggregated between two flushes; data points of
+     *            further metrics are dropped to prevent resource exhaustion.
+     */
+    MetricAggregator(int maxMetrics) {
+        this.maxMetrics = maxMetrics;
+    }
+
+    /**
+     * Records the value of the given data point, returning true if successful or false if it was
+     * dropped because too many unique metrics are being aggregated.
+     */
+    boolean record(MetricDatum datum) {
+        Double value = datum.getValue();
+        if (value == null) {
+            return true;
+        }
+        MetricKey key = new MetricKey(datum);
+        int writer = (int) (Thread.currentThread().getId() & (WRITER_STRIPES - 1)) * WRITER_STRIPE_PADDING;
+        while (true) {
+            Interval interval = current;
+            interval.writers.incrementAndGet(writer);
+            try {
+                // A writer that raced with a flush starts over on the new interval
+                if (interval == current) {
+                    return interval.record(key, value, maxMetrics);
+                }
+            } finally {
+                interval.writers.decrementAndGet(writer);
+            }
+        }
+    }
+
+    /**
+     * Starts a new aggregation interval and returns the statistics of each unique metric recorded
+     * during the previous one.
+     */
+    List<MetricDatum> flush() {
+        Interval interval = current;
+        current = new Interval();
+        // Writers that entered the previous interval before the swap are about to finish
+        for (int writer = 0; writer < WRITER_STRIPES; writer++) {
+            while (interval.writers.get(writer * WRITER_STRIPE_PADDING) != 0) {
+                Thread.yield();
+            }
+        }
+        List<MetricDatum> data = new ArrayList<MetricDatum>(interval.statistics.size());
+        for (Map.Entry<MetricKey, Statistics> entry : interval.statistics.entrySet()) {
+            // Metrics only recorded NaN values have no statistics to upload
+            if (entry.getValue().getCount() > 0) {
+                data.add(entry.getKey().toStatisticDatum(entry.getValue()));
+            }
+        }
+        return data;
+    }
+
+    private static class Interval {
+        private final ConcurrentMap<MetricKey, Statistics> statistics =
+                new ConcurrentHashMap<MetricKey, Statistics>();
+        private final AtomicIntegerArray writers =
+                new AtomicIntegerArray(WRITER_STRIPES * WRITER_STRIPE_PADDING);
+
+        boolean record(MetricKey key, double value, int maxMetrics) {
+            Statistics stats = statistics.get(key);
+            if (stats == null) {
+                if (statistics.size() >= maxMetrics) {
+                    return false;
+                }
+                stats = new Statistics();
+                Statistics existing = statistics.putIfAbsent(key, stats);
+                if (existing != null) {
+                    stats = existing;
+                }
+            }
+            stats.record(value);
+            return true;
+        }
+    }
+
+    /**
+     * Lock-free count, sum, minimum and maximum of the values of a metric, the statistics uploaded
+     * to CloudWatch.
+     */
+    private static class Statistics {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final AtomicLong minBits = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+        private final AtomicLong maxBits = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+
+        void record(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            count.incrementAndGet();
+            while (true) {
+                long current = sumBits.get();
+                long updated = Double.doubleToLongBits(Double.longBitsToDouble(current) + value);
+                if (sumBits.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            while (true) {
+                long current = minBits.get();
+                if (value >= Double.longBitsToDouble(current)
+                    || minBits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                    break;
+                }
+            }
+            while (true) {
+                long current = maxBits.get();
+                if (value <= Double.longBitsToDouble(current)
+                    || maxBits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                    break;
+                }
+            }
+        }
+
+        long getCount() {
+            return count.get();
+        }
+
+        double getSum() {
+            return Double.longBitsToDouble(sumBits.get());
+        }
+
+        double getMin() {
+            return Double.longBitsToDouble(minBits.get());
+        }
+
+        double getMax() {
+            return Double.longBitsToDouble(maxBits.get());
+        }
+    }
+
+    /**
+     * Identifies a unique metric. Dimensions are compared regardless of their order, which saves
+     * sorting them for every data point.
+     */
+    private static class MetricKey {
+        private final String metricName;
+        private final String unit;
+        private final List<Dimension> dimensions;
+        private final int hashCode;
+
+        MetricKey(MetricDatum datum) {
+            this.metricName = datum.getMetricName();
+            this.unit = datum.getUnit();
+            this.dimensions = datum.getDimensions();
+            int dimensionsHash = 0;
+            for (Dimension dimension : dimensions) {
+                dimensionsHash += dimension.hashCode();
+            }
+            this.hashCode = 31 * (31 * hash(metricName) + hash(unit)) + dimensionsHash;
+        }
+
+        MetricDatum toStatisticDatum(Statistics stats) {
+            return new MetricDatum()
+                .withDimensions(dimensions)
+                .withMetricName(metricName)
+                .withUnit(unit)
+                .withStatisticValues(new StatisticSet()
+                    .withMaximum(stats.getMax())
+                    .withMinimum(stats.getMin())
+                    .withSampleCount((double) stats.getCount())
+                    .withSum(stats.getSum()));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey other = (MetricKey) obj;
+            return hashCode == other.hashCode
+                && equal(metricName, other.metricName)
+                && equal(unit, other.unit)
+                && dimensions.size() == other.dimensions.size()
+                && dimensions.containsAll(other.dimensions)
+                && other.dimensions.containsAll(dimensions);
+        }
+
+        private static int hash(Object o) {
+            return o == null ? 0 : o.hashCode();
+        }
+
+        private static boolean equal(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
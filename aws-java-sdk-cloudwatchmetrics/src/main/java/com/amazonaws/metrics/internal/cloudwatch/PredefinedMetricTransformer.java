@@ -76,7 +76,8 @@ public class PredefinedMetricTransformer {
                 case RetryCount:
                     return metricOfRequestOrRetryCount(predefined, request, response);
                 case ThrottledRetryCount: // drop through
-                case RetryCapacityConsumed:
+                case RetryCapacityConsumed: // drop through
+                case RetryCapacityAvailable:
                     return counterMetricOf(predefined, request, response, EXCLUDE_REQUEST_TYPE);
                 case ResponseProcessingTime: // drop through
                 case RequestSigningTime: // drop through
@@ -85,6 +86,7 @@ public class PredefinedMetricTransformer {
                     return latencyOfClientExecuteTime(request, response);
                 case HttpClientSendRequestTime:
                 case HttpClientReceiveResponseTime:
+                case HttpClientConnectTime:
                 case HttpRequestTime:
                 case HttpSocketReadTime:
                     return latencyMetricOf(predefined, request, response, INCLUDE_REQUEST_TYPE);
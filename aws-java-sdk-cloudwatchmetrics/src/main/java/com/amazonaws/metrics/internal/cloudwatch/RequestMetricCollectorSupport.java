@@ -14,8 +14,6 @@
  */
 package com.amazonaws.metrics.internal.cloudwatch;
 
-import java.util.concurrent.BlockingQueue;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import com.amazonaws.annotation.ThreadSafe;
@@ -39,17 +37,17 @@ import com.amazonaws.util.AWSRequestMetrics;
 public class RequestMetricCollectorSupport extends RequestMetricCollector 
 {
     protected final static Log log = LogFactory.getLog(RequestMetricCollectorSupport.class);
-    private final BlockingQueue<MetricDatum> queue;
+    private final MetricAggregator aggregator;
     private final PredefinedMetricTransformer transformer = new PredefinedMetricTransformer();
 
-    protected RequestMetricCollectorSupport(BlockingQueue<MetricDatum> queue) {
-        this.queue = queue;
+    protected RequestMetricCollectorSupport(MetricAggregator aggregator) {
+        this.aggregator = aggregator;
     }
 
     /**
      * Collects the metrics at the end of a request/response cycle, transforms
      * the metric data points into a cloud watch metric datum representation,
-     * and then adds it to a memory queue so it will get summarized into the
+     * and then adds it to an in-memory aggregation so it will get summarized into the
      * necessary statistics and uploaded to Amazon CloudWatch.
      */
     @Override
@@ -75,14 +73,14 @@ public class RequestMetricCollectorSupport extends RequestMetricCollector
                 try {
                     if (!addMetricsToQueue(datum)) {
                         if (log.isDebugEnabled()) {
-                            log.debug("Failed to add to the metrics queue (due to no space available) for "
+                            log.debug("Failed to aggregate the metrics (due to too many unique metrics) for "
                                     + type.name()
                                     + ":"
                                     + request.getServiceName());
                         }
                     }
                 } catch(RuntimeException ex) {
-                    log.warn("Failed to add to the metrics queue for "
+                    log.warn("Failed to aggregate the metrics for "
                         + type.name() + ":" + request.getServiceName(),
                         ex);
                 }
@@ -91,11 +89,11 @@ public class RequestMetricCollectorSupport extends RequestMetricCollector
     }
 
     /**
-     * Adds the given metric to the queue, returning true if successful or false
-     * if no space available.
+     * Adds the given metric to the in-memory aggregation, returning true if
+     * successful or false if too many unique metrics are being aggregated.
      */
     protected boolean addMetricsToQueue(MetricDatum metric) {
-        return queue.offer(metric); 
+        return aggregator.record(metric);
     }
     /** Returns the predefined metrics transformer. */
     protected PredefinedMetricTransformer getTransformer() { return transformer; }
@@ -388,6 +388,20 @@ public abstract class AmazonWebServiceClient {
         client.shutdown();
     }
 
+    /**
+     * Opens up to the given number of connections to this client's endpoint ahead of time, so that
+     * the first requests don't have to wait for DNS resolution, TCP connect and the TLS handshake.
+     * This is an optional method that can be called right after a client is created, for example
+     * during application startup before traffic is taken.
+     *
+     * @param connections Number of pooled connections desired for the endpoint; capped by the
+     *                    configured maximum number of connections.
+     * @return The number of connections that were newly established.
+     */
+    public int prewarmConnections(int connections) {
+        return client.prewarmConnections(endpoint, connections);
+    }
+
     /**
      * @deprecated by {@link #addRequestHandler(RequestHandler2)}.
      *
@@ -16,6 +16,8 @@ package com.amazonaws;
 
 import com.amazonaws.annotation.NotThreadSafe;
 import com.amazonaws.http.IdleConnectionReaper;
+import com.amazonaws.http.compression.RequestCompressionPolicy;
+import com.amazonaws.http.compression.ThresholdRequestCompressionPolicy;
 import com.amazonaws.retry.PredefinedRetryPolicies;
 import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.util.ValidationUtils;
@@ -99,6 +101,18 @@ public class ClientConfiguration {
      */
     public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 5 * 1000;
 
+    /**
+     * The default size of the TLS session cache, a non positive value means the JDK default is
+     * used.
+     */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = -1;
+
+    /**
+     * The default timeout of cached TLS sessions, a non positive value means the JDK default is
+     * used.
+     */
+    public static final int DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = -1;
+
     /**
      * The default on whether to use TCP KeepAlive.
      */
@@ -109,6 +123,11 @@ public class ClientConfiguration {
      */
     public static final boolean DEFAULT_THROTTLE_RETRIES = true;
 
+    /**
+     * The default on whether to adapt the request rate to throttling errors.
+     */
+    public static final boolean DEFAULT_USE_ADAPTIVE_RATE_LIMITING = false;
+
     /**
      * The default on whether to cache response metadata.
      */
@@ -202,6 +221,8 @@ public class ClientConfiguration {
 
     private boolean throttleRetries = DEFAULT_THROTTLE_RETRIES;
 
+    private boolean adaptiveRateLimiting = DEFAULT_USE_ADAPTIVE_RATE_LIMITING;
+
     /**
      * Optional size hint (in bytes) for the low level TCP send buffer. This is an advanced option
      * for advanced users who want to tune low level TCP parameters to try and squeeze out more
@@ -228,6 +249,11 @@ public class ClientConfiguration {
      */
     private boolean useGzip = DEFAULT_USE_GZIP;
 
+    /**
+     * Optional policy selecting the requests whose payload is gzip compressed.
+     */
+    private RequestCompressionPolicy requestCompressionPolicy;
+
     /**
      * Optional override to control which signature algorithm should be used to sign requests to the
      * service. If not explicitly set, the client will determine the algorithm to use by inspecting
@@ -249,6 +275,16 @@ public class ClientConfiguration {
 
     private int validateAfterInactivityMillis = DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS;
 
+    /**
+     * Maximum number of TLS sessions cached for resumption by the client.
+     */
+    private int tlsSessionCacheSize = DEFAULT_TLS_SESSION_CACHE_SIZE;
+
+    /**
+     * Time, in seconds, a cached TLS session can be resumed.
+     */
+    private int tlsSessionTimeoutSeconds = DEFAULT_TLS_SESSION_TIMEOUT_SECONDS;
+
     /**
      * Optional override to enable support for TCP KeepAlive (not to be confused with HTTP
      * KeepAlive). TCP KeepAlive can be used to detect misbehaving routers or down servers through
@@ -329,6 +365,7 @@ public class ClientConfiguration {
         this.maxErrorRetry = other.maxErrorRetry;
         this.retryPolicy = other.retryPolicy;
         this.throttleRetries = other.throttleRetries;
+        this.adaptiveRateLimiting = other.adaptiveRateLimiting;
         this.localAddress = other.localAddress;
         this.protocol = other.protocol;
         this.proxyDomain = other.proxyDomain;
@@ -346,6 +383,7 @@ public class ClientConfiguration {
         this.userAgentSuffix = other.userAgentSuffix;
         this.useReaper = other.useReaper;
         this.useGzip = other.useGzip;
+        this.requestCompressionPolicy = other.requestCompressionPolicy;
         this.socketReceiveBufferSizeHint = other.socketReceiveBufferSizeHint;
         this.socketSendBufferSizeHint = other.socketSendBufferSizeHint;
         this.signerOverride = other.signerOverride;
@@ -357,6 +395,8 @@ public class ClientConfiguration {
         this.connectionTTL = other.connectionTTL;
         this.connectionMaxIdleMillis = other.connectionMaxIdleMillis;
         this.validateAfterInactivityMillis = other.validateAfterInactivityMillis;
+        this.tlsSessionCacheSize = other.tlsSessionCacheSize;
+        this.tlsSessionTimeoutSeconds = other.tlsSessionTimeoutSeconds;
         this.tcpKeepAlive = other.tcpKeepAlive;
         this.secureRandom = other.secureRandom;
         this.headers.clear();
@@ -1393,6 +1433,46 @@ public class ClientConfiguration {
         return maxConsecutiveRetriesBeforeThrottling;
     }
 
+    /**
+     * Returns whether adaptive client side rate limiting will be used.
+     * <p>
+     * When enabled, a throttling error from the service lowers the rate at which the client sends
+     * requests to the same endpoint, and the rate ramps back up as requests succeed. Requests wait
+     * on the client for their turn instead of being sent, throttled and retried, which saves retry
+     * capacity and usually raises the effective throughput against provisioned limits. Requests
+     * are never delayed until the first throttling error is seen.
+     * </p>
+     *
+     * @return true if adaptive rate limiting will be used
+     */
+    public boolean useAdaptiveRateLimiting() {
+        return adaptiveRateLimiting;
+    }
+
+    /**
+     * Sets whether adaptive client side rate limiting should be used.
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @see #useAdaptiveRateLimiting()
+     */
+    public void setUseAdaptiveRateLimiting(boolean use) {
+        this.adaptiveRateLimiting = use;
+    }
+
+    /**
+     * Sets whether adaptive client side rate limiting should be used.
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @return The updated ClientConfiguration object.
+     * @see #useAdaptiveRateLimiting()
+     */
+    public ClientConfiguration withAdaptiveRateLimiting(boolean use) {
+        setUseAdaptiveRateLimiting(use);
+        return this;
+    }
+
     /**
      * Checks if gzip compression is used
      *
@@ -1424,6 +1504,45 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the policy selecting the requests whose payload is gzip compressed before it is
+     * signed and sent, or null if request payloads are never compressed. Unlike
+     * {@link #useGzip()}, which asks the service to compress its responses, this compresses the
+     * requests the client sends, which cuts the bytes sent for large payloads such as batches of
+     * metric data or log events. Only enable it for operations that accept gzip encoded request
+     * bodies.
+     *
+     * @return The request compression policy, or null if requests are not compressed.
+     */
+    public RequestCompressionPolicy getRequestCompressionPolicy() {
+        return requestCompressionPolicy;
+    }
+
+    /**
+     * Sets the policy selecting the requests whose payload is gzip compressed.
+     *
+     * @param requestCompressionPolicy
+     *            The request compression policy, or null to never compress requests.
+     * @see #getRequestCompressionPolicy()
+     * @see ThresholdRequestCompressionPolicy
+     */
+    public void setRequestCompressionPolicy(RequestCompressionPolicy requestCompressionPolicy) {
+        this.requestCompressionPolicy = requestCompressionPolicy;
+    }
+
+    /**
+     * Sets the policy selecting the requests whose payload is gzip compressed.
+     *
+     * @param requestCompressionPolicy
+     *            The request compression policy, or null to never compress requests.
+     * @return The updated ClientConfiguration object.
+     * @see #getRequestCompressionPolicy()
+     */
+    public ClientConfiguration withRequestCompressionPolicy(RequestCompressionPolicy requestCompressionPolicy) {
+        setRequestCompressionPolicy(requestCompressionPolicy);
+        return this;
+    }
+
     /**
      * Returns the optional size hints (in bytes) for the low level TCP send and receive buffers.
      * This is an advanced option for advanced users who want to tune low level TCP parameters to
@@ -1823,6 +1942,93 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the maximum number of TLS sessions the client caches so that new connections to the
+     * same endpoint can resume a previous session with an abbreviated handshake instead of a full
+     * one.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_CACHE_SIZE}.</p>
+     */
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of TLS sessions the client caches so that new connections to the
+     * same endpoint can resume a previous session with an abbreviated handshake instead of a full
+     * one.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_CACHE_SIZE}.</p>
+     *
+     * @param tlsSessionCacheSize The maximum number of cached TLS sessions.
+     */
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of TLS sessions the client caches so that new connections to the
+     * same endpoint can resume a previous session with an abbreviated handshake instead of a full
+     * one.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_CACHE_SIZE}.</p>
+     *
+     * @param tlsSessionCacheSize The maximum number of cached TLS sessions.
+     * @return The updated {@link ClientConfiguration} object.
+     */
+    public ClientConfiguration withTlsSessionCacheSize(int tlsSessionCacheSize) {
+        setTlsSessionCacheSize(tlsSessionCacheSize);
+        return this;
+    }
+
+    /**
+     * Returns the amount of time (in seconds) a cached TLS session can be resumed by a new
+     * connection.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_TIMEOUT_SECONDS}.</p>
+     */
+    public int getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * Sets the amount of time (in seconds) a cached TLS session can be resumed by a new
+     * connection.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_TIMEOUT_SECONDS}.</p>
+     *
+     * @param tlsSessionTimeoutSeconds The time, in seconds, a cached TLS session can be resumed.
+     */
+    public void setTlsSessionTimeoutSeconds(int tlsSessionTimeoutSeconds) {
+        this.tlsSessionTimeoutSeconds = tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * Sets the amount of time (in seconds) a cached TLS session can be resumed by a new
+     * connection.
+     *
+     * <p>A non positive value keeps the JDK default.</p>
+     *
+     * <p>The default value is {@value #DEFAULT_TLS_SESSION_TIMEOUT_SECONDS}.</p>
+     *
+     * @param tlsSessionTimeoutSeconds The time, in seconds, a cached TLS session can be resumed.
+     * @return The updated {@link ClientConfiguration} object.
+     */
+    public ClientConfiguration withTlsSessionTimeoutSeconds(int tlsSessionTimeoutSeconds) {
+        setTlsSessionTimeoutSeconds(tlsSessionTimeoutSeconds);
+        return this;
+    }
+
     /**
      * Returns whether or not TCP KeepAlive support is enabled.
      */
@@ -245,6 +245,12 @@ public class SDKGlobalConfiguration {
      */
     public static final String AWS_ION_BINARY_DISABLE_SYSTEM_PROPERTY = "com.amazonaws.sdk.disableIonBinary";
 
+    /**
+     * System property to set the maximum number of AWS4 signing keys kept in
+     * memory, shared by all signers of the JVM. Defaults to 300.
+     */
+    public static final String AWS4_SIGNER_CACHE_SIZE_SYSTEM_PROPERTY = "com.amazonaws.sdk.signerKeyCacheSize";
+
     /**
      * @deprecated by {@link SDKGlobalTime#setGlobalTimeOffset(int)}
      */
@@ -20,8 +20,7 @@ import com.amazonaws.SignableRequest;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.auth.internal.AWS4SignerRequestParams;
 import com.amazonaws.auth.internal.AWS4SignerUtils;
-import com.amazonaws.auth.internal.SignerKey;
-import com.amazonaws.internal.FIFOCache;
+import com.amazonaws.auth.internal.SignerKeyCache;
 import com.amazonaws.log.InternalLogApi;
 import com.amazonaws.log.InternalLogFactory;
 import com.amazonaws.util.BinaryUtils;
@@ -32,10 +31,7 @@ import com.amazonaws.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +51,7 @@ import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_EXPIRES;
 import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_SECURITY_TOKEN;
 import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_SIGNATURE;
 import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_SIGNED_HEADER;
+import static com.amazonaws.util.StringUtils.UTF8;
 
 /**
  * Signer implementation that signs requests with the AWS4 signing protocol.
@@ -63,8 +60,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
         ServiceAwareSigner, RegionAwareSigner, Presigner {
 
     protected static final InternalLogApi log = InternalLogFactory.getLog(AWS4Signer.class);
-    private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FIFOCache<SignerKey> signerCache = new FIFOCache<SignerKey>(SIGNER_CACHE_MAX_SIZE);
+    private static final SignerKeyCache signerCache = SignerKeyCache.getDefault();
     private static final List<String> listOfHeadersToIgnoreInLowerCase = Arrays.asList("connection", "x-amzn-trace-id");
 
     private final SdkClock clock;
@@ -299,18 +295,28 @@ public class AWS4Signer extends AbstractAWSSigner implements
         final String path = SdkHttpUtils.appendUri(
                 request.getEndpoint().getPath(), request.getResourcePath());
 
-        final StringBuilder canonicalRequestBuilder = new StringBuilder(request
-                .getHttpMethod().toString());
+        // This would optionally double url-encode the resource path
+        final String canonicalizedResourcePath = getCanonicalizedResourcePath(path, doubleUrlEncode);
+        final String canonicalizedQueryString = getCanonicalizedQueryString(request);
+        final String canonicalizedHeaderString = getCanonicalizedHeaderString(request);
+        final String signedHeadersString = getSignedHeadersString(request);
+        final String httpMethod = request.getHttpMethod().toString();
 
-        canonicalRequestBuilder.append(LINE_SEPARATOR)
-                // This would optionally double url-encode the resource path
-                .append(getCanonicalizedResourcePath(path, doubleUrlEncode))
+        // Sized up front so that the builder never has to grow
+        final StringBuilder canonicalRequestBuilder = new StringBuilder(httpMethod.length()
+                + canonicalizedResourcePath.length() + canonicalizedQueryString.length()
+                + canonicalizedHeaderString.length() + signedHeadersString.length()
+                + contentSha256.length() + 5);
+
+        canonicalRequestBuilder.append(httpMethod)
+                .append(LINE_SEPARATOR)
+                .append(canonicalizedResourcePath)
                 .append(LINE_SEPARATOR)
-                .append(getCanonicalizedQueryString(request))
+                .append(canonicalizedQueryString)
                 .append(LINE_SEPARATOR)
-                .append(getCanonicalizedHeaderString(request))
+                .append(canonicalizedHeaderString)
                 .append(LINE_SEPARATOR)
-                .append(getSignedHeadersString(request)).append(LINE_SEPARATOR)
+                .append(signedHeadersString).append(LINE_SEPARATOR)
                 .append(contentSha256);
 
         final String canonicalRequest = canonicalRequestBuilder.toString();
@@ -329,9 +335,9 @@ public class AWS4Signer extends AbstractAWSSigner implements
     protected String createStringToSign(String canonicalRequest,
             AWS4SignerRequestParams signerParams) {
 
-        final StringBuilder stringToSignBuilder = new StringBuilder(
-                signerParams.getSigningAlgorithm());
-        stringToSignBuilder.append(LINE_SEPARATOR)
+        final StringBuilder stringToSignBuilder = new StringBuilder(128);
+        stringToSignBuilder.append(signerParams.getSigningAlgorithm())
+                .append(LINE_SEPARATOR)
                 .append(signerParams.getFormattedSigningDateTime())
                 .append(LINE_SEPARATOR)
                 .append(signerParams.getScope())
@@ -355,19 +361,17 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private final byte[] deriveSigningKey(AWSCredentials credentials,
             AWS4SignerRequestParams signerRequestParams) {
 
-        final String cacheKey = computeSigningCacheKeyName(credentials,
-                signerRequestParams);
         final long daysSinceEpochSigningDate = DateUtils
                 .numberOfDaysSinceEpoch(signerRequestParams
                         .getSigningDateTimeMilli());
 
-        SignerKey signerKey = signerCache.get(cacheKey);
+        byte[] cachedSigningKey = signerCache.get(credentials.getAWSSecretKey(),
+                signerRequestParams.getRegionName(),
+                signerRequestParams.getServiceName(),
+                daysSinceEpochSigningDate);
 
-        if (signerKey != null) {
-            if (daysSinceEpochSigningDate == signerKey
-                    .getNumberOfDaysSinceEpoch()) {
-                return signerKey.getSigningKey();
-            }
+        if (cachedSigningKey != null) {
+            return cachedSigningKey;
         }
         if (log.isDebugEnabled()) {
             log.debug("Generating a new signing key as the signing key not available in the cache for the date "
@@ -377,25 +381,13 @@ public class AWS4Signer extends AbstractAWSSigner implements
                 signerRequestParams.getFormattedSigningDate(),
                 signerRequestParams.getRegionName(),
                 signerRequestParams.getServiceName());
-        signerCache.add(cacheKey, new SignerKey(
-                daysSinceEpochSigningDate, signingKey));
+        signerCache.put(credentials.getAWSSecretKey(),
+                signerRequestParams.getRegionName(),
+                signerRequestParams.getServiceName(),
+                daysSinceEpochSigningDate, signingKey);
         return signingKey;
     }
 
-    /**
-     * Computes the name to be used to reference the signing key in the cache.
-     */
-    private final String computeSigningCacheKeyName(AWSCredentials credentials,
-            AWS4SignerRequestParams signerRequestParams) {
-        final StringBuilder hashKeyBuilder = new StringBuilder(
-                credentials.getAWSSecretKey());
-
-        return hashKeyBuilder.append("-")
-                .append(signerRequestParams.getRegionName())
-                .append("-")
-                .append(signerRequestParams.getServiceName()).toString();
-    }
-
     /**
      * Step 3 of the AWS Signature version 4 calculation. It involves deriving
      * the signing key and computing the signature. Refer to
@@ -404,7 +396,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
      */
     protected final byte[] computeSignature(String stringToSign,
             byte[] signingKey, AWS4SignerRequestParams signerRequestParams) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
+        return sign(stringToSign.getBytes(UTF8), signingKey,
                 SigningAlgorithm.HmacSHA256);
     }
 
@@ -414,25 +406,17 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private String buildAuthorizationHeader(SignableRequest<?> request,
             byte[] signature, AWSCredentials credentials,
             AWS4SignerRequestParams signerParams) {
-        final String signingCredentials = credentials.getAWSAccessKeyId() + "/"
-                + signerParams.getScope();
-
-        final String credential = "Credential="
-                + signingCredentials;
-        final String signerHeaders = "SignedHeaders="
-                + getSignedHeadersString(request);
-        final String signatureHeader = "Signature="
-                + BinaryUtils.toHex(signature);
-
-        final StringBuilder authHeaderBuilder = new StringBuilder();
+        final StringBuilder authHeaderBuilder = new StringBuilder(256);
 
         authHeaderBuilder.append(AWS4_SIGNING_ALGORITHM)
-                         .append(" ")
-                         .append(credential)
-                         .append(", ")
-                         .append(signerHeaders)
-                         .append(", ")
-                         .append(signatureHeader);
+                         .append(" Credential=")
+                         .append(credentials.getAWSAccessKeyId())
+                         .append("/")
+                         .append(signerParams.getScope())
+                         .append(", SignedHeaders=")
+                         .append(getSignedHeadersString(request))
+                         .append(", Signature=")
+                         .append(BinaryUtils.toHex(signature));
 
         return authHeaderBuilder.toString();
     }
@@ -463,12 +447,10 @@ public class AWS4Signer extends AbstractAWSSigner implements
     }
 
     protected String getCanonicalizedHeaderString(SignableRequest<?> request) {
-        final List<String> sortedHeaders = new ArrayList<String>(request.getHeaders()
-                .keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
-
         final Map<String, String> requestHeaders = request.getHeaders();
-        StringBuilder buffer = new StringBuilder();
+        final String[] sortedHeaders = getSortedHeaderNames(requestHeaders);
+
+        StringBuilder buffer = new StringBuilder(sortedHeaders.length * 32);
         for (String header : sortedHeaders) {
             if (shouldExcludeHeaderFromSigning(header)) {
                 continue;
@@ -489,11 +471,9 @@ public class AWS4Signer extends AbstractAWSSigner implements
     }
 
     protected String getSignedHeadersString(SignableRequest<?> request) {
-        final List<String> sortedHeaders = new ArrayList<String>(request
-                .getHeaders().keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        final String[] sortedHeaders = getSortedHeaderNames(request.getHeaders());
 
-        StringBuilder buffer = new StringBuilder();
+        StringBuilder buffer = new StringBuilder(sortedHeaders.length * 16);
         for (String header : sortedHeaders) {
             if (shouldExcludeHeaderFromSigning(header)) {
                 continue;
@@ -506,8 +486,24 @@ public class AWS4Signer extends AbstractAWSSigner implements
         return buffer.toString();
     }
 
+    /**
+     * Returns the header names sorted the way the canonical request expects
+     * them, in a single array rather than a copied and sorted list.
+     */
+    private static String[] getSortedHeaderNames(Map<String, String> headers) {
+        final String[] sortedHeaders = headers.keySet().toArray(new String[headers.size()]);
+        Arrays.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        return sortedHeaders;
+    }
+
     protected boolean shouldExcludeHeaderFromSigning(String header) {
-        return listOfHeadersToIgnoreInLowerCase.contains(header.toLowerCase());
+        // Compared in place so that every signed header isn't lower cased twice
+        for (int i = 0; i < listOfHeadersToIgnoreInLowerCase.size(); i++) {
+            if (listOfHeadersToIgnoreInLowerCase.get(i).equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected void addHostHeader(SignableRequest<?> request) {
@@ -603,7 +599,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
     protected byte[] newSigningKey(AWSCredentials credentials,
             String dateStamp, String regionName, String serviceName) {
         byte[] kSecret = ("AWS4" + credentials.getAWSSecretKey())
-                .getBytes(Charset.forName("UTF-8"));
+                .getBytes(UTF8);
         byte[] kDate = sign(dateStamp, kSecret, SigningAlgorithm.HmacSHA256);
         byte[] kRegion = sign(regionName, kDate, SigningAlgorithm.HmacSHA256);
         byte[] kService = sign(serviceName, kRegion,
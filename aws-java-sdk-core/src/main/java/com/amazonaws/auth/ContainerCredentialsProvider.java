@@ -47,9 +47,27 @@ public class ContainerCredentialsProvider implements AWSCredentialsProvider {
         this(new ECSCredentialsEndpointProvider());
     }
 
+    /**
+     * @param refreshCredentialsAsync
+     *            true if credentials due for a refresh should keep being
+     *            returned while new ones are loaded from the container
+     *            endpoint in the background, so callers only wait on the
+     *            endpoint when the credentials are about to expire; false to
+     *            refresh them synchronously.
+     */
+    public ContainerCredentialsProvider(boolean refreshCredentialsAsync) {
+        this(new ECSCredentialsEndpointProvider(), refreshCredentialsAsync);
+    }
+
     @SdkInternalApi
     public ContainerCredentialsProvider(CredentialsEndpointProvider credentailsEndpointProvider) {
-        this.credentialsFetcher = new EC2CredentialsFetcher(credentailsEndpointProvider);
+        this(credentailsEndpointProvider, false);
+    }
+
+    @SdkInternalApi
+    public ContainerCredentialsProvider(CredentialsEndpointProvider credentailsEndpointProvider,
+                                        boolean refreshCredentialsAsync) {
+        this.credentialsFetcher = new EC2CredentialsFetcher(credentailsEndpointProvider, refreshCredentialsAsync);
     }
 
     @Override
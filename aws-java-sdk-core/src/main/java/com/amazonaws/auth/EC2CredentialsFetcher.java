@@ -17,6 +17,11 @@ package com.amazonaws.auth;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -52,6 +57,13 @@ class EC2CredentialsFetcher {
      */
     private static final int EXPIRATION_THRESHOLD = 1000 * 60 * 15;
 
+    /**
+     * The threshold before credentials expire (in milliseconds) under which
+     * credentials refreshed in the background are no longer served while the
+     * refresh is in progress, and callers wait for the new credentials.
+     */
+    private static final int STALE_THRESHOLD = 1000 * 60;
+
     /** The name of the Json Object that contains the access key.*/
     private static final String ACCESS_KEY_ID = "AccessKeyId";
 
@@ -73,11 +85,46 @@ class EC2CredentialsFetcher {
     /** Used to load the endpoint where the credentials are stored. */
     private final CredentialsEndpointProvider credentailsEndpointProvider;
 
+    /** True if credentials due for a refresh are reloaded in the background. */
+    private final boolean asyncRefresh;
+
+    /** Set while a background refresh is pending or in progress. */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
     public EC2CredentialsFetcher(CredentialsEndpointProvider credentailsEndpointProvider) {
+        this(credentailsEndpointProvider, false);
+    }
+
+    /**
+     * @param asyncRefresh
+     *            If true, credentials due for a refresh keep being returned
+     *            while they are reloaded in the background, so that callers
+     *            only wait for the endpoint when there are no credentials yet
+     *            or the current ones are about to expire.
+     */
+    public EC2CredentialsFetcher(CredentialsEndpointProvider credentailsEndpointProvider, boolean asyncRefresh) {
         this.credentailsEndpointProvider = credentailsEndpointProvider;
+        this.asyncRefresh = asyncRefresh;
     }
 
     public AWSCredentials getCredentials() {
+        if (asyncRefresh && credentials != null && !isWithinStaleThreshold()) {
+            // Serve the current credentials while new ones are loaded
+            final AWSCredentials current = credentials;
+            if (needsToLoadCredentials())
+                fetchCredentialsAsync();
+            return current;
+        }
+        return loadCredentials();
+    }
+
+    /**
+     * Loads new credentials on the calling thread if they are due for a
+     * refresh, even in async refresh mode. Meant for callers that already
+     * refresh from a background thread of their own, so that failures reach
+     * them instead of only being logged.
+     */
+    AWSCredentials loadCredentials() {
         if (needsToLoadCredentials())
             fetchCredentials();
         if (expired()) {
@@ -105,6 +152,31 @@ class EC2CredentialsFetcher {
         return false;
     }
 
+    /**
+     * Fetches the credentials from the endpoint on a background thread,
+     * unless a background fetch is already pending.
+     */
+    private void fetchCredentialsAsync() {
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            RefreshExecutorHolder.EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        fetchCredentials();
+                    } catch (RuntimeException e) {
+                        LOG.debug("Unable to refresh credentials in the background", e);
+                    } finally {
+                        refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            LOG.debug("Unable to schedule a background credentials refresh", e);
+        }
+    }
+
     /**
      * Fetches the credentials from the endpoint.
      */
@@ -195,6 +267,15 @@ class EC2CredentialsFetcher {
         return (credentialsExpiration.getTime() - System.currentTimeMillis()) < EXPIRATION_THRESHOLD;
     }
 
+    /**
+     * Returns true if the current credentials expire within the stale
+     * threshold, and therefore, should not be served while being refreshed.
+     */
+    private boolean isWithinStaleThreshold() {
+        final Date expiration = credentialsExpiration;
+        return expiration != null && (expiration.getTime() - System.currentTimeMillis()) < STALE_THRESHOLD;
+    }
+
     /**
      * Returns true if the last attempt to refresh credentials is beyond the
      * refresh threshold, and therefore the credentials should attempt to be
@@ -222,4 +303,19 @@ class EC2CredentialsFetcher {
     public String toString() {
         return getClass().getSimpleName();
     }
+
+    /**
+     * Lazily creates the executor shared by all the fetchers refreshing
+     * credentials in the background. Its daemon threads exit when idle.
+     */
+    private static class RefreshExecutorHolder {
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "aws-credentials-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 }
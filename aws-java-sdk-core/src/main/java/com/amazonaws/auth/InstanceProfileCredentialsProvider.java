@@ -74,6 +74,11 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
      * Spins up a new thread to refresh the credentials asynchronously if
      * refreshCredentialsAsync is set to true, otherwise the credentials will be
      * refreshed from the instance metadata service synchronously,
+     * <p>
+     * When refreshing asynchronously, credentials due for a refresh keep being
+     * returned by {@link #getCredentials()} while new ones are loaded in the
+     * background, so callers do not wait on the instance metadata service
+     * until the credentials are about to expire.
      *
      * @param refreshCredentialsAsync
      *            true if credentials needs to be refreshed asynchronously else
@@ -94,7 +99,8 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
 
 
     private InstanceProfileCredentialsProvider(boolean refreshCredentialsAsync, final boolean eagerlyRefreshCredentialsAsync) {
-        credentialsFetcher = new EC2CredentialsFetcher(new InstanceMetadataCredentialsEndpointProvider());
+        credentialsFetcher = new EC2CredentialsFetcher(new InstanceMetadataCredentialsEndpointProvider(),
+                                                       refreshCredentialsAsync);
         shouldRefresh = eagerlyRefreshCredentialsAsync;
         if (refreshCredentialsAsync) {
             executor = Executors.newScheduledThreadPool(1);
@@ -102,7 +108,7 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
                 @Override
                 public void run() {
                     try {
-                        if (shouldRefresh) credentialsFetcher.getCredentials();
+                        if (shouldRefresh) credentialsFetcher.loadCredentials();
                     } catch (AmazonClientException ace) {
                         handleError(ace);
                     } catch (RuntimeException re) {
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Lock free cache of AWS4 signing keys, keyed by secret key, region and service.
+ * <p>
+ * Signing keys are only valid for the day they were derived for, so when the first key of a new
+ * day is stored every key derived for an earlier day is evicted. Within a day, the earliest
+ * stored keys are evicted first once the cache is full.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class SignerKeyCache {
+
+    private static final int DEFAULT_MAX_SIZE = 300;
+
+    private static final SignerKeyCache DEFAULT = new SignerKeyCache(defaultMaxSize());
+
+    private final int maxSize;
+    private final ConcurrentMap<Key, SignerKey> cache = new ConcurrentHashMap<Key, SignerKey>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<Key>();
+    private final AtomicLong newestDay = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize the maximum number of signing keys of the cache
+     */
+    public SignerKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The cache shared by all AWS4 signers, sized by the
+     *         {@link SDKGlobalConfiguration#AWS4_SIGNER_CACHE_SIZE_SYSTEM_PROPERTY} system
+     *         property.
+     */
+    public static SignerKeyCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the signing key derived for the given day, or null if there is none.
+     */
+    public byte[] get(String secretKey, String regionName, String serviceName, long daysSinceEpoch) {
+        SignerKey signerKey = cache.get(new Key(secretKey, regionName, serviceName));
+        if (signerKey != null && signerKey.getNumberOfDaysSinceEpoch() == daysSinceEpoch) {
+            hits.incrementAndGet();
+            return signerKey.getSigningKey();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the signing key derived for the given day, evicting the earliest entries if the
+     * cache is full.
+     */
+    public void put(String secretKey, String regionName, String serviceName, long daysSinceEpoch,
+                    byte[] signingKey) {
+        rollOver(daysSinceEpoch);
+        Key key = new Key(secretKey, regionName, serviceName);
+        if (cache.put(key, new SignerKey(daysSinceEpoch, signingKey)) == null) {
+            insertionOrder.add(key);
+        }
+        while (cache.size() > maxSize) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            cache.remove(eldest);
+        }
+    }
+
+    /**
+     * @return The number of signing keys currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return The maximum number of signing keys of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of lookups that found a signing key valid for the requested day.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups that found no signing key valid for the requested day.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Evicts keys of earlier days the first time a key for a new day is stored.
+     */
+    private void rollOver(long daysSinceEpoch) {
+        long newest = newestDay.get();
+        if (daysSinceEpoch <= newest || !newestDay.compareAndSet(newest, daysSinceEpoch)) {
+            return;
+        }
+        for (Iterator<Key> it = insertionOrder.iterator(); it.hasNext();) {
+            Key key = it.next();
+            SignerKey signerKey = cache.get(key);
+            if (signerKey == null || signerKey.getNumberOfDaysSinceEpoch() < daysSinceEpoch) {
+                cache.remove(key);
+                it.remove();
+            }
+        }
+    }
+
+    private static int defaultMaxSize() {
+        String size = System.getProperty(SDKGlobalConfiguration.AWS4_SIGNER_CACHE_SIZE_SYSTEM_PROPERTY);
+        if (size != null) {
+            try {
+                return Math.max(1, Integer.parseInt(size.trim()));
+            } catch (NumberFormatException e) {
+                LogFactory.getLog(SignerKeyCache.class).warn(
+                        "Ignoring invalid signer key cache size " + size, e);
+            }
+        }
+        return DEFAULT_MAX_SIZE;
+    }
+
+    /**
+     * Cache key comparing its parts in place rather than concatenating them.
+     */
+    private static final class Key {
+
+        private final String secretKey;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        private Key(String secretKey, String regionName, String serviceName) {
+            this.secretKey = secretKey;
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            int result = secretKey.hashCode();
+            result = 31 * result + (regionName == null ? 0 : regionName.hashCode());
+            result = 31 * result + (serviceName == null ? 0 : serviceName.hashCode());
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode
+                   && secretKey.equals(other.secretKey)
+                   && equals(regionName, other.regionName)
+                   && equals(serviceName, other.serviceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean equals(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
@@ -30,10 +30,17 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Class to load a CLI style config or credentials file. Performs only basic validation on
  * properties and profiles.
+ * <p>
+ * The profiles loaded from a file are cached for the process and shared by all callers, until the
+ * modification time or the length of the file changes. Building many clients that read the same
+ * profile files then parses each file only once.
+ * </p>
  */
 @SdkInternalApi
 public class BasicProfileConfigLoader {
@@ -42,6 +49,17 @@ public class BasicProfileConfigLoader {
 
     public static final BasicProfileConfigLoader INSTANCE = new BasicProfileConfigLoader();
 
+    /**
+     * Files modified less than this many milliseconds before they were loaded are not cached, as
+     * a modification within the resolution of the file system timestamps could go unnoticed.
+     */
+    private static final long MODIFICATION_TIME_RESOLUTION_MILLIS = 2000;
+
+    /**
+     * Profiles loaded from each file, by absolute path of the file.
+     */
+    private final ConcurrentMap<String, CachedProfiles> cache = new ConcurrentHashMap<String, CachedProfiles>();
+
     private BasicProfileConfigLoader() {
     }
 
@@ -57,10 +75,24 @@ public class BasicProfileConfigLoader {
                     file.getAbsolutePath());
         }
 
+        final String path = file.getAbsolutePath();
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final CachedProfiles cached = cache.get(path);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.profiles;
+        }
+
         FileInputStream fis = null;
         try {
             fis = new FileInputStream(file);
-            return loadProfiles(fis);
+            final AllProfiles profiles = loadProfiles(fis);
+            if (System.currentTimeMillis() - lastModified > MODIFICATION_TIME_RESOLUTION_MILLIS) {
+                cache.put(path, new CachedProfiles(lastModified, length, profiles));
+            } else {
+                cache.remove(path);
+            }
+            return profiles;
         } catch (IOException ioe) {
             throw new SdkClientException(
                     "Unable to load AWS credential profiles file at: " + file.getAbsolutePath(),
@@ -121,6 +153,22 @@ public class BasicProfileConfigLoader {
         }
     }
 
+    /**
+     * Profiles loaded from a file, along with the modification time and length of the file when
+     * they were loaded.
+     */
+    private static class CachedProfiles {
+        private final long lastModified;
+        private final long length;
+        private final AllProfiles profiles;
+
+        private CachedProfiles(long lastModified, long length, AllProfiles profiles) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.profiles = profiles;
+        }
+    }
+
     /**
      * Implementation of AbstractProfilesConfigFileScanner that groups profile properties into a map
      * while scanning through the credentials profile.
@@ -22,7 +22,9 @@ import com.amazonaws.client.AwsAsyncClientParams;
 import com.amazonaws.regions.AwsRegionProvider;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base class for all service specific async client builders.
@@ -33,6 +35,11 @@ import java.util.concurrent.Executors;
 @SdkProtectedApi
 public abstract class AwsAsyncClientBuilder<Subclass extends AwsAsyncClientBuilder, TypeToBuild> extends
                                                                                                  AwsClientBuilder<Subclass, TypeToBuild> {
+    /**
+     * Time an idle thread of the default executor is kept alive before being reclaimed.
+     */
+    private static final long DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS = 60L;
+
     private ExecutorFactory executorFactory;
 
     protected AwsAsyncClientBuilder(ClientConfigurationFactory clientConfigFactory) {
@@ -108,10 +115,21 @@ public abstract class AwsAsyncClientBuilder<Subclass extends AwsAsyncClientBuild
         }
 
         /**
+         * Default async executor to use if none is explicitly provided by user. The pool is sized
+         * by the maximum number of connections like a fixed thread pool, but idle threads are
+         * reclaimed so that a client only holds as many threads as its recent concurrency
+         * actually needed rather than a thread per connection for its whole lifetime.
+         *
          * @return Default async Executor to use if none is explicitly provided by user.
          */
         private ExecutorService defaultExecutor() {
-            return Executors.newFixedThreadPool(getClientConfiguration().getMaxConnections());
+            final int maxConnections = getClientConfiguration().getMaxConnections();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConnections, maxConnections,
+                                                                 DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS,
+                                                                 TimeUnit.SECONDS,
+                                                                 new LinkedBlockingQueue<Runnable>());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
         }
     }
 
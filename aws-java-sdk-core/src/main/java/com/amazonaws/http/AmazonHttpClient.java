@@ -48,6 +48,7 @@ import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import com.amazonaws.http.apache.request.impl.ApacheHttpRequestFactory;
 import com.amazonaws.http.apache.utils.ApacheUtils;
 import com.amazonaws.http.client.HttpClientFactory;
+import com.amazonaws.http.compression.internal.RequestCompressor;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
 import com.amazonaws.http.request.HttpRequestFactory;
 import com.amazonaws.http.response.AwsResponseHandlerAdapter;
@@ -65,15 +66,17 @@ import com.amazonaws.internal.SdkBufferedInputStream;
 import com.amazonaws.internal.auth.SignerProviderContext;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.retry.AdaptiveRateLimiter;
 import com.amazonaws.retry.RetryPolicyAdapter;
 import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.retry.internal.AuthErrorRetryStrategy;
 import com.amazonaws.retry.internal.AuthRetryParameters;
+import com.amazonaws.retry.internal.EndpointRetryCapacity;
 import com.amazonaws.retry.v2.RetryPolicy;
 import com.amazonaws.retry.v2.RetryPolicyContext;
 import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.AWSRequestMetrics.Field;
-import com.amazonaws.util.CapacityManager;
+import com.amazonaws.util.AwsHostNameUtils;
 import com.amazonaws.util.CollectionUtils;
 import com.amazonaws.util.CountingInputStream;
 import com.amazonaws.util.DateUtils;
@@ -89,13 +92,18 @@ import com.amazonaws.util.UnreliableFilterInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
@@ -105,6 +113,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -115,6 +124,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
@@ -202,9 +215,14 @@ public class AmazonHttpClient {
     private final HttpRequestTimer httpRequestTimer;
 
     /**
-     * Retry capacity manager, used to manage throttled retry resource
+     * Retry capacity of each endpoint, used to manage throttled retry resource
      */
-    private final CapacityManager retryCapacity;
+    private final EndpointRetryCapacity retryCapacity;
+
+    /**
+     * Adaptive rate limiters keyed by endpoint, or null if adaptive rate limiting is disabled.
+     */
+    private final ConcurrentMap<String, AdaptiveRateLimiter> rateLimiters;
 
     /**
      * Timer to enforce timeouts on the whole execution of the request (request handlers, retries,
@@ -348,7 +366,9 @@ public class AmazonHttpClient {
         // and desired number of retries.
         int throttledRetryMaxCapacity = clientConfig.useThrottledRetries()
                 ? THROTTLED_RETRY_COST * config.getMaxConsecutiveRetriesBeforeThrottling() : -1;
-        this.retryCapacity = new CapacityManager(throttledRetryMaxCapacity);
+        this.retryCapacity = new EndpointRetryCapacity(throttledRetryMaxCapacity);
+        this.rateLimiters = clientConfig.useAdaptiveRateLimiting()
+                ? new ConcurrentHashMap<String, AdaptiveRateLimiter>() : null;
     }
 
     public static Builder builder() {
@@ -426,6 +446,79 @@ public class AmazonHttpClient {
         httpClient.getHttpClientConnectionManager().shutdown();
     }
 
+    /**
+     * Opens up to the given number of connections to the given endpoint ahead of time and returns
+     * them to the connection pool, so that the first requests sent after a client is created don't
+     * have to pay for DNS resolution, TCP connect and the TLS handshake. Connections already idle in
+     * the pool for the endpoint count towards the requested number, and the total is capped by
+     * {@link ClientConfiguration#getMaxConnections()}. Pre-warming is skipped when a proxy is
+     * configured.
+     *
+     * @param endpoint    Endpoint to open connections to.
+     * @param connections Number of pooled connections desired for the endpoint.
+     * @return The number of connections that were newly established.
+     * @throws SdkClientException If a connection could not be leased from the pool or established.
+     */
+    public int prewarmConnections(URI endpoint, int connections) {
+        if (httpClientSettings.getProxyHost() != null && httpClientSettings.getProxyPort() > 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Skipping connection pre-warming as a proxy is configured");
+            }
+            return 0;
+        }
+        final HttpClientConnectionManager cm = httpClient.getHttpClientConnectionManager();
+        final HttpRoute route = newRoute(endpoint);
+        final int toLease = Math.min(connections, httpClientSettings.getMaxConnections());
+        final List<HttpClientConnection> leased = new ArrayList<HttpClientConnection>(toLease);
+        int established = 0;
+        try {
+            // All connections are leased before any is released, otherwise the pool would keep
+            // handing back the same connection.
+            for (int i = 0; i < toLease; i++) {
+                leased.add(cm.requestConnection(route, null).get(
+                        httpClientSettings.getConnectionPoolRequestTimeout(), TimeUnit.MILLISECONDS));
+            }
+            for (HttpClientConnection conn : leased) {
+                if (!conn.isOpen()) {
+                    final HttpClientContext context = HttpClientContext.create();
+                    cm.connect(conn, route, httpClientSettings.getConnectionTimeout(), context);
+                    cm.routeComplete(conn, route, context);
+                    established++;
+                }
+            }
+        } catch (IOException e) {
+            throw new SdkClientException("Unable to pre-warm connections to " + endpoint, e);
+        } catch (ExecutionException e) {
+            throw new SdkClientException("Unable to pre-warm connections to " + endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException(e);
+        } finally {
+            for (HttpClientConnection conn : leased) {
+                cm.releaseConnection(conn, null, httpClientSettings.getMaxIdleConnectionTime(),
+                                     TimeUnit.MILLISECONDS);
+            }
+        }
+        return established;
+    }
+
+    /**
+     * Creates the same route the Apache client plans for a request to the given endpoint when no
+     * proxy is configured, so that pre-warmed connections are found by subsequent requests.
+     */
+    private HttpRoute newRoute(URI endpoint) {
+        HttpHost target = new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme());
+        try {
+            target = new HttpHost(target.getHostName(),
+                                  DefaultSchemePortResolver.INSTANCE.resolve(target),
+                                  target.getSchemeName());
+        } catch (IOException e) {
+            throw new SdkClientException("Unable to resolve port of " + endpoint, e);
+        }
+        return new HttpRoute(target, httpClientSettings.getLocalAddress(),
+                             "https".equalsIgnoreCase(target.getSchemeName()));
+    }
+
     /**
      * Used to configure the test conditions for injecting intermittent failures to the content
      * input stream.
@@ -540,6 +633,37 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * @return The rate limiter shared by all requests to the endpoint, or null if adaptive rate
+     * limiting is disabled.
+     */
+    private AdaptiveRateLimiter getRateLimiter(String key) {
+        if (rateLimiters == null) {
+            return null;
+        }
+        AdaptiveRateLimiter rateLimiter = rateLimiters.get(key);
+        if (rateLimiter == null) {
+            AdaptiveRateLimiter newRateLimiter = new AdaptiveRateLimiter();
+            rateLimiter = rateLimiters.putIfAbsent(key, newRateLimiter);
+            if (rateLimiter == null) {
+                rateLimiter = newRateLimiter;
+            }
+        }
+        return rateLimiter;
+    }
+
+    /**
+     * @return Key identifying the endpoint in per endpoint state such as rate limiters and retry
+     * capacity. Standard AWS endpoints are keyed by their region, so that hosts only differing by
+     * a resource label, such as S3 virtual hosted bucket endpoints, share their state rather than
+     * adding an entry per bucket. Other endpoints are keyed by scheme and authority.
+     */
+    private static String endpointKey(URI endpoint) {
+        final String host = endpoint.getHost();
+        final String region = host == null ? null : AwsHostNameUtils.parseRegion(host, null);
+        return region != null ? region : endpoint.getScheme() + "://" + endpoint.getAuthority();
+    }
+
     /**
      * @return A builder used to configure and execute a HTTP request.
      */
@@ -673,6 +797,13 @@ public class AmazonHttpClient {
         private final List<RequestHandler2> requestHandler2s;
         private final AWSRequestMetrics awsRequestMetrics;
 
+        /**
+         * Endpoint the {@link #endpointKey} was computed for. Only changes on redirects and
+         * auth error retries, so the key is computed once for most executions.
+         */
+        private URI keyedEndpoint;
+        private String endpointKey;
+
         private RequestExecutor(Request<?> request, RequestConfig requestConfig,
                                 HttpResponseHandler<? extends SdkBaseException> errorResponseHandler,
                                 HttpResponseHandler<Output> responseHandler,
@@ -687,6 +818,18 @@ public class AmazonHttpClient {
             this.awsRequestMetrics = executionContext.getAwsRequestMetrics();
         }
 
+        /**
+         * @return Key of the current endpoint of the request in per endpoint state.
+         */
+        private String endpointKey() {
+            final URI endpoint = request.getEndpoint();
+            if (endpoint != keyedEndpoint) {
+                endpointKey = AmazonHttpClient.endpointKey(endpoint);
+                keyedEndpoint = endpoint;
+            }
+            return endpointKey;
+        }
+
         /**
          * Executes the request and returns the result.
          */
@@ -730,6 +873,8 @@ public class AmazonHttpClient {
             request.getHeaders().putAll(requestConfig.getCustomRequestHeaders());
             // add custom query parameters
             mergeQueryParameters(requestConfig.getCustomQueryParameters());
+            // compress once, before the first attempt is signed, so retries reuse the payload
+            RequestCompressor.compress(request, config.getRequestCompressionPolicy());
             Response<Output> response = null;
             final InputStream origContent = request.getContent();
             final InputStream toBeClosed = beforeRequest(); // for progress tracking
@@ -1135,6 +1280,12 @@ public class AmazonHttpClient {
             }
             updateRetryHeaderInfo(request, execOneParams);
 
+            // Wait for the adaptive rate limiter, if any, to let this attempt through
+            final AdaptiveRateLimiter rateLimiter = getRateLimiter(endpointKey());
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+
             // Sign the request if a signer was provided
             execOneParams.newSigner(request, executionContext);
             if (execOneParams.signer != null &&
@@ -1170,7 +1321,9 @@ public class AmazonHttpClient {
             execOneParams.resetBeforeHttpRequest();
             publishProgress(listener, ProgressEventType.HTTP_REQUEST_STARTED_EVENT);
             awsRequestMetrics.startEvent(Field.HttpRequestTime);
-            awsRequestMetrics.setCounter(Field.RetryCapacityConsumed, retryCapacity.consumedCapacity());
+            final String endpoint = endpointKey();
+            awsRequestMetrics.setCounter(Field.RetryCapacityConsumed, retryCapacity.consumedCapacity(endpoint));
+            awsRequestMetrics.setCounter(Field.RetryCapacityAvailable, retryCapacity.availableCapacity(endpoint));
 
             /////////// Send HTTP request ////////////
             executionContext.getClientExecutionTrackerTask().setCurrentHttpRequest(execOneParams.apacheRequest);
@@ -1205,6 +1358,9 @@ public class AmazonHttpClient {
             final StatusLine statusLine = execOneParams.apacheResponse.getStatusLine();
             final int statusCode = statusLine == null ? -1 : statusLine.getStatusCode();
             if (isRequestSuccessful(execOneParams.apacheResponse)) {
+                if (rateLimiter != null) {
+                    rateLimiter.onResponse(false);
+                }
                 awsRequestMetrics.addProperty(Field.StatusCode, statusCode);
             /*
              * If we get back any 2xx status code, then we know we should treat the service call as
@@ -1222,9 +1378,9 @@ public class AmazonHttpClient {
              * we return a lesser amount.
              */
                 if (execOneParams.isRetry() && executionContext.retryCapacityConsumed()) {
-                    retryCapacity.release(THROTTLED_RETRY_COST);
+                    retryCapacity.release(endpoint, THROTTLED_RETRY_COST);
                 } else {
-                    retryCapacity.release();
+                    retryCapacity.release(endpoint, 1);
                 }
                 return new Response<Output>(response, httpResponse);
             }
@@ -1249,6 +1405,9 @@ public class AmazonHttpClient {
             final SdkBaseException exception = handleErrorResponse(execOneParams.apacheRequest,
                                                              execOneParams.apacheResponse,
                                                              localRequestContext);
+            if (rateLimiter != null) {
+                rateLimiter.onResponse(RetryUtils.isThrottlingException(exception));
+            }
             // Check whether we should internally retry the auth error
             execOneParams.authRetryParam = null;
             AuthErrorRetryStrategy authRetry = executionContext.getAuthErrorRetryStrategy();
@@ -1381,7 +1540,7 @@ public class AmazonHttpClient {
          */
         private void updateRetryHeaderInfo(Request<?> request,
                                            ExecOneRequestParams execOneRequestParams) {
-            int availableRetryCapacity = retryCapacity.availableCapacity();
+            int availableRetryCapacity = retryCapacity.availableCapacity(endpointKey());
 
             String headerValue = String.format("%s/%s/%s",
                                                execOneRequestParams.requestCount - 1,
@@ -1418,7 +1577,7 @@ public class AmazonHttpClient {
             if (!RetryUtils.isThrottlingException(exception)) {
                 // See if we have enough available retry capacity to be able to execute
                 // this retry attempt.
-                if (!retryCapacity.acquire(THROTTLED_RETRY_COST)) {
+                if (!retryCapacity.acquire(endpointKey(), THROTTLED_RETRY_COST)) {
                     awsRequestMetrics.incrementCounter(ThrottledRetryCount);
                     return false;
                 }
@@ -1437,7 +1596,7 @@ public class AmazonHttpClient {
             if (!retryPolicy.shouldRetry(context)) {
                 // If the retry policy fails we immediately return consumed capacity to the pool.
                 if (executionContext.retryCapacityConsumed()) {
-                    retryCapacity.release(THROTTLED_RETRY_COST);
+                    retryCapacity.release(endpointKey(), THROTTLED_RETRY_COST);
                 }
                 return false;
             }
@@ -39,6 +39,7 @@ import org.apache.http.protocol.HttpContext;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
@@ -85,11 +86,29 @@ public class ApacheConnectionManagerFactory implements
     private ConnectionSocketFactory getPreferredSocketFactory(HttpClientSettings settings) {
         ConnectionSocketFactory sslsf = settings.getApacheHttpClientConfig().getSslSocketFactory();
 
-        return sslsf != null
-                ? sslsf
-                : new SdkTLSSocketFactory(
-                SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom()),
-                getHostNameVerifier(settings));
+        if (sslsf != null) {
+            return sslsf;
+        }
+        final SSLContext sslContext = SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom());
+        configureSessionCache(sslContext.getClientSessionContext(), settings);
+        return new SdkTLSSocketFactory(sslContext, getHostNameVerifier(settings));
+    }
+
+    /**
+     * Applies the configured TLS session cache size and timeout, which govern how many new
+     * connections can resume a previous session instead of doing a full handshake.
+     */
+    private void configureSessionCache(SSLSessionContext sessionContext,
+                                       HttpClientSettings settings) {
+        if (sessionContext == null) {
+            return;
+        }
+        if (settings.getTlsSessionCacheSize() > 0) {
+            sessionContext.setSessionCacheSize(settings.getTlsSessionCacheSize());
+        }
+        if (settings.getTlsSessionTimeoutSeconds() > 0) {
+            sessionContext.setSessionTimeout(settings.getTlsSessionTimeoutSeconds());
+        }
     }
 
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.compression;
+
+import com.amazonaws.Request;
+
+/**
+ * Decides which requests have their payload compressed before they are signed and sent. A
+ * compressed request is sent with a {@code Content-Encoding: gzip} header, so a policy should
+ * only select operations of services that accept gzip encoded request bodies.
+ * <p>
+ * Only bodies marshalled by the SDK are offered to the policy: JSON, Ion, CBOR and XML payloads,
+ * and the form encoded parameters of Query protocol POST requests. Streaming payloads supplied by
+ * the caller, such as S3 object uploads, bodies covered by a checksum header and requests that
+ * already carry a {@code Content-Encoding} header are never compressed.
+ * </p>
+ *
+ * @see ThresholdRequestCompressionPolicy
+ * @see com.amazonaws.ClientConfiguration#setRequestCompressionPolicy(RequestCompressionPolicy)
+ */
+public interface RequestCompressionPolicy {
+
+    /**
+     * @param request
+     *            The marshalled request, before signing. The original request is available through
+     *            {@link Request#getOriginalRequest()}.
+     * @param uncompressedLength
+     *            Length in bytes of the payload as it would be sent uncompressed.
+     * @return True if the payload should be gzip compressed.
+     */
+    boolean shouldCompress(Request<?> request, long uncompressedLength);
+}
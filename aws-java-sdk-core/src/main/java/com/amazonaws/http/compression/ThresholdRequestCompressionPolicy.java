@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.compression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Compresses payloads at or above a minimum size, with optional per operation thresholds that
+ * take precedence over the default one. Operations are identified by the class of their request
+ * object, e.g. {@code PutMetricDataRequest.class}.
+ *
+ * <pre>
+ * new ThresholdRequestCompressionPolicy(ThresholdRequestCompressionPolicy.DISABLED)
+ *         .withOperationThreshold(PutMetricDataRequest.class, 10240)
+ *         .withOperationThreshold(PutLogEventsRequest.class, 10240);
+ * </pre>
+ */
+@ThreadSafe
+public class ThresholdRequestCompressionPolicy implements RequestCompressionPolicy {
+
+    /** Threshold value that disables compression. */
+    public static final int DISABLED = -1;
+
+    /** Default minimum size, in bytes, of payloads to compress. */
+    public static final int DEFAULT_MIN_COMPRESSION_SIZE = 10240;
+
+    private final int defaultThreshold;
+
+    private final Map<Class<?>, Integer> operationThresholds = new ConcurrentHashMap<Class<?>, Integer>();
+
+    /**
+     * Compresses payloads of all operations of at least {@link #DEFAULT_MIN_COMPRESSION_SIZE}
+     * bytes.
+     */
+    public ThresholdRequestCompressionPolicy() {
+        this(DEFAULT_MIN_COMPRESSION_SIZE);
+    }
+
+    /**
+     * @param defaultThreshold
+     *            Minimum size, in bytes, of the payloads to compress for operations without a
+     *            threshold of their own, or {@link #DISABLED} to only compress the operations
+     *            configured through {@link #withOperationThreshold(Class, int)}.
+     */
+    public ThresholdRequestCompressionPolicy(int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    /**
+     * Sets the minimum size of the payloads to compress for a single operation.
+     *
+     * @param requestClass
+     *            Class of the request object of the operation.
+     * @param threshold
+     *            Minimum size, in bytes, of the payloads to compress, or {@link #DISABLED} to
+     *            never compress requests of this operation.
+     * @return This object for method chaining.
+     */
+    public ThresholdRequestCompressionPolicy withOperationThreshold(
+            Class<? extends AmazonWebServiceRequest> requestClass, int threshold) {
+        operationThresholds.put(requestClass, threshold);
+        return this;
+    }
+
+    @Override
+    public boolean shouldCompress(Request<?> request, long uncompressedLength) {
+        int threshold = getThreshold(request.getOriginalRequest());
+        return threshold >= 0 && uncompressedLength >= threshold;
+    }
+
+    private int getThreshold(AmazonWebServiceRequest originalRequest) {
+        if (originalRequest != null) {
+            Integer threshold = operationThresholds.get(originalRequest.getClass());
+            if (threshold != null) {
+                return threshold;
+            }
+        }
+        return defaultThreshold;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.compression.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.amazonaws.Request;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.http.compression.RequestCompressionPolicy;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.SdkHttpUtils;
+import com.amazonaws.util.StringUtils;
+
+/**
+ * Gzip compresses request payloads selected by a {@link RequestCompressionPolicy}. Runs once per
+ * request execution, before the first attempt is signed, so retries resend the same compressed
+ * bytes and the signature covers the payload as it is sent.
+ */
+@SdkInternalApi
+public final class RequestCompressor {
+
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    static final String CONTENT_LENGTH = "Content-Length";
+    static final String CONTENT_TYPE = "Content-Type";
+    static final String GZIP = "gzip";
+
+    private static final String[] MARSHALLED_CONTENT_TYPES = {
+        "application/json", "application/x-amz-json", "application/x-amz-cbor", "application/x-amz-ion",
+        "application/xml", "text/xml" };
+
+    private static final String[] CHECKSUM_HEADERS = {
+        "Content-MD5", "x-amz-content-sha256", "x-amz-sha256-tree-hash" };
+
+    private RequestCompressor() {
+    }
+
+    /**
+     * Replaces the payload of the request with its gzip compressed form if the policy selects
+     * it. Query protocol POST requests, whose parameters would otherwise be form encoded into
+     * the body by the HTTP client, have their encoded parameters moved into the compressed body.
+     *
+     * @return True if the request was compressed.
+     */
+    public static boolean compress(Request<?> request, RequestCompressionPolicy policy) {
+        if (policy == null || request.getHeaders().containsKey(CONTENT_ENCODING)) {
+            return false;
+        }
+        try {
+            byte[] payload;
+            if (SdkHttpUtils.usePayloadForQueryParameters(request)) {
+                String encodedParameters = SdkHttpUtils.encodeParameters(request);
+                if (encodedParameters == null) {
+                    return false;
+                }
+                payload = encodedParameters.getBytes(StringUtils.UTF8);
+                if (!policy.shouldCompress(request, payload.length)) {
+                    return false;
+                }
+                request.setParameters(new LinkedHashMap<String, List<String>>());
+            } else {
+                String contentLength = request.getHeaders().get(CONTENT_LENGTH);
+                if (!isMarshalledPayload(request) || contentLength == null
+                    || !policy.shouldCompress(request, Long.parseLong(contentLength))) {
+                    return false;
+                }
+                payload = IOUtils.toByteArray(request.getContent());
+            }
+            byte[] compressed = gzip(payload);
+            request.setContent(new ByteArrayInputStream(compressed));
+            request.addHeader(CONTENT_LENGTH, Integer.toString(compressed.length));
+            request.addHeader(CONTENT_ENCODING, GZIP);
+            return true;
+        } catch (IOException e) {
+            throw new SdkClientException("Unable to compress request payload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Only in memory bodies with the content type of a marshalled JSON, Ion, CBOR or XML document
+     * are compressed. Streams supplied by the caller, such as object or archive uploads, and bodies
+     * covered by a checksum header are sent as they are, as the service would store or verify the
+     * compressed bytes.
+     */
+    private static boolean isMarshalledPayload(Request<?> request) {
+        if (!(request.getContent() instanceof ByteArrayInputStream)) {
+            return false;
+        }
+        for (String checksumHeader : CHECKSUM_HEADERS) {
+            if (request.getHeaders().containsKey(checksumHeader)) {
+                return false;
+            }
+        }
+        String contentType = request.getHeaders().get(CONTENT_TYPE);
+        if (contentType == null) {
+            return false;
+        }
+        contentType = StringUtils.lowerCase(contentType);
+        for (String marshalledContentType : MARSHALLED_CONTENT_TYPES) {
+            if (contentType.startsWith(marshalledContentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        // Text payloads typically shrink to a fifth or less of their size
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        try {
+            gzip.write(payload);
+        } finally {
+            gzip.close();
+        }
+        return out.toByteArray();
+    }
+}
@@ -14,11 +14,14 @@
  */
 package com.amazonaws.http.conn;
 
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.protocol.HttpContext;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
@@ -61,7 +64,9 @@ public class ClientConnectionManagerFactory {
     /**
      * The handler behind the dynamic proxy for {@link HttpClientConnectionManager}
      * so that the any returned instance of {@link ConnectionRequest} can
-     * further wrapped for capturing performance metrics.
+     * further wrapped for capturing performance metrics, and so that the time
+     * spent establishing new connections (including the TLS handshake) is
+     * recorded against the request that triggered it.
      */
     private static class Handler implements InvocationHandler {
         private final HttpClientConnectionManager orig;
@@ -72,6 +77,9 @@ public class ClientConnectionManagerFactory {
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("connect".equals(method.getName())) {
+                return invokeConnect(method, args);
+            }
             try {
                 Object ret = method.invoke(orig, args);
                 return ret instanceof ConnectionRequest
@@ -83,5 +91,37 @@ public class ClientConnectionManagerFactory {
                 throw e.getCause();
             }
         }
+
+        /**
+         * Invokes {@link HttpClientConnectionManager#connect} while capturing
+         * {@link Field#HttpClientConnectTime} in the request metrics found in
+         * the http context, if any.
+         */
+        private Object invokeConnect(Method method, Object[] args) throws Throwable {
+            final AWSRequestMetrics awsRequestMetrics = getRequestMetrics(args);
+            if (awsRequestMetrics != null) {
+                awsRequestMetrics.startEvent(Field.HttpClientConnectTime);
+            }
+            try {
+                return method.invoke(orig, args);
+            } catch (InvocationTargetException e) {
+                log.debug("", e);
+                throw e.getCause();
+            } finally {
+                if (awsRequestMetrics != null) {
+                    awsRequestMetrics.endEvent(Field.HttpClientConnectTime);
+                }
+            }
+        }
+
+        private AWSRequestMetrics getRequestMetrics(Object[] args) {
+            if (args == null || args.length == 0
+                || !(args[args.length - 1] instanceof HttpContext)) {
+                return null;
+            }
+            final HttpContext context = (HttpContext) args[args.length - 1];
+            return (AWSRequestMetrics) context
+                    .getAttribute(AWSRequestMetrics.class.getSimpleName());
+        }
     }
 }
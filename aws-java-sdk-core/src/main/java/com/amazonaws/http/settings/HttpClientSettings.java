@@ -147,6 +147,14 @@ public class HttpClientSettings {
         return config.getValidateAfterInactivityMillis();
     }
 
+    public int getTlsSessionCacheSize() {
+        return config.getTlsSessionCacheSize();
+    }
+
+    public int getTlsSessionTimeoutSeconds() {
+        return config.getTlsSessionTimeoutSeconds();
+    }
+
     public String getProxyWorkstation() {
         return config.getProxyWorkstation();
     }
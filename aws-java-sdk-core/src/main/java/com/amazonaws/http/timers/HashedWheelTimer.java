@@ -0,0 +1,379 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.ValidationUtils;
+
+/**
+ * A low overhead timer used by the request timeout and client execution timeout features.
+ * <p>
+ * Timeouts are kept in a circular array of buckets (a "hashed wheel") that a single worker thread
+ * advances every tick. Scheduling and canceling a timeout are O(1) and lock free: new timeouts are
+ * handed to the worker through a concurrent queue and canceled timeouts are unlinked from their
+ * bucket in batches on the next tick. Timeouts fire at most one tick late, which is negligible
+ * compared to the millisecond scale of the timeouts it enforces.
+ * <p>
+ * The worker thread is only started when a timeout is scheduled and exits on its own once no
+ * timeout has been pending for the configured idle time, so an idle JVM holds no timer threads.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class HashedWheelTimer {
+
+    private static final Log LOG = LogFactory.getLog(HashedWheelTimer.class);
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 5000;
+
+    private static final HashedWheelTimer DEFAULT = new HashedWheelTimer("AwsSdkTimeoutTimerThread",
+            DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL, DEFAULT_IDLE_TIMEOUT_MILLIS);
+
+    private static final int ST_PENDING = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final String threadName;
+    private final long tickNanos;
+    private final long idleTimeoutNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<TimeoutImpl> newTimeouts = new ConcurrentLinkedQueue<TimeoutImpl>();
+    private final Queue<TimeoutImpl> cancelledTimeouts = new ConcurrentLinkedQueue<TimeoutImpl>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final AtomicBoolean workerRunning = new AtomicBoolean();
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param threadName
+     *            Name of the worker thread.
+     * @param tickMillis
+     *            Resolution of the timer, i.e. the time between two ticks of the worker.
+     * @param ticksPerWheel
+     *            Number of buckets in the wheel, rounded up to a power of two.
+     * @param idleTimeoutMillis
+     *            Time the worker keeps running without any pending timeout before exiting.
+     */
+    public HashedWheelTimer(String threadName, long tickMillis, int ticksPerWheel, long idleTimeoutMillis) {
+        this.threadName = ValidationUtils.assertNotNull(threadName, "threadName");
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30]: " + ticksPerWheel);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleTimeoutMillis));
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return The timer shared by all clients in this class loader.
+     */
+    public static HashedWheelTimer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Schedule the task to run on the timer thread once the delay has elapsed. Tasks must be short
+     * and non-blocking as they are run sequentially on the worker thread.
+     *
+     * @return Handle that can be used to cancel the task before it runs.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        ValidationUtils.assertNotNull(task, "task");
+        if (shutdown) {
+            throw new IllegalStateException("Timer " + threadName + " has been shut down");
+        }
+        TimeoutImpl timeout = new TimeoutImpl(task, System.nanoTime() + unit.toNanos(delay));
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        if (!workerRunning.get() && workerRunning.compareAndSet(false, true)) {
+            startWorker();
+        }
+        return timeout;
+    }
+
+    /**
+     * Stop the worker thread. Timeouts that have not fired yet never will.
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * @return Number of timeouts that have been scheduled but have neither fired nor been canceled.
+     */
+    @SdkTestInternalApi
+    public int getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * @return True if the worker thread is currently running.
+     */
+    @SdkTestInternalApi
+    public boolean isWorkerRunning() {
+        return workerRunning.get();
+    }
+
+    /**
+     * @return Time the worker stays alive without any pending timeout.
+     */
+    @SdkTestInternalApi
+    public long getIdleTimeout(TimeUnit unit) {
+        return unit.convert(idleTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void startWorker() {
+        Thread thread = new Thread(new Worker(), threadName);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancel the task if it has not run yet.
+         *
+         * @return True if the task was canceled, false if it already ran or was canceled before.
+         */
+        boolean cancel();
+
+        /**
+         * @return True if the task has been handed to the worker for execution.
+         */
+        boolean isExpired();
+    }
+
+    private final class TimeoutImpl implements Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private TimeoutImpl next;
+        private TimeoutImpl prev;
+
+        private TimeoutImpl(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            // Unlinked from its bucket by the worker on the next tick
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_PENDING, ST_EXPIRED)) {
+                return;
+            }
+            pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.warn("Timeout task " + task + " threw an exception", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only ever accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        private TimeoutImpl head;
+        private TimeoutImpl tail;
+
+        private void add(TimeoutImpl timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private TimeoutImpl remove(TimeoutImpl timeout) {
+            TimeoutImpl next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        private void expireTimeouts(long deadline) {
+            TimeoutImpl timeout = head;
+            while (timeout != null) {
+                if (timeout.state.get() == ST_CANCELLED) {
+                    timeout = remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    TimeoutImpl next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private long startTime;
+        private long tick;
+
+        @Override
+        public void run() {
+            startTime = System.nanoTime();
+            tick = 0;
+            long idleSince = -1;
+            while (!shutdown) {
+                long deadline = waitForNextTick();
+                if (deadline < 0) {
+                    continue;
+                }
+                processCancelledTimeouts();
+                transferNewTimeouts();
+                wheel[(int) (tick & mask)].expireTimeouts(deadline);
+                tick++;
+
+                if (pendingTimeouts.get() > 0) {
+                    idleSince = -1;
+                } else if (idleSince < 0) {
+                    idleSince = deadline;
+                } else if (deadline - idleSince >= idleTimeoutNanos && tryStop()) {
+                    return;
+                }
+            }
+            workerRunning.set(false);
+        }
+
+        /**
+         * Hands the wheel over to a new worker. If a timeout was scheduled concurrently and no other
+         * worker took over this one keeps running.
+         */
+        private boolean tryStop() {
+            processCancelledTimeouts();
+            workerRunning.set(false);
+            if (pendingTimeouts.get() == 0 && newTimeouts.isEmpty()) {
+                return true;
+            }
+            return !workerRunning.compareAndSet(false, true);
+        }
+
+        private void processCancelledTimeouts() {
+            TimeoutImpl timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void transferNewTimeouts() {
+            TimeoutImpl timeout;
+            while ((timeout = newTimeouts.poll()) != null) {
+                if (timeout.state.get() == ST_CANCELLED) {
+                    continue;
+                }
+                long calculated = (timeout.deadline - startTime) / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+
+        /**
+         * @return The time of the tick that was waited for, relative to the worker start time base,
+         *         or -1 if interrupted.
+         */
+        private long waitForNextTick() {
+            long deadline = startTime + tickNanos * (tick + 1);
+            for (;;) {
+                long now = System.nanoTime();
+                long sleepMillis = (deadline - now + 999999) / 1000000;
+                if (sleepMillis <= 0) {
+                    return now;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (shutdown) {
+                        return -1;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -14,20 +14,20 @@
  */
 package com.amazonaws.http.timers.client;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
 import com.amazonaws.http.AmazonHttpClient;
-import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
+import com.amazonaws.http.timers.HashedWheelTimer;
 
 /**
  * Represents a timer to enforce a timeout on the total client execution time. That is the time
  * spent executing request handlers, any HTTP request including retries, unmarshalling, etc.
- * Essentially all the time spent in {@link AmazonHttpClient}
+ * Essentially all the time spent in {@link AmazonHttpClient}. Timer tasks are scheduled on the
+ * same {@link HashedWheelTimer} as the {@link com.amazonaws.http.timers.request.HttpRequestTimer}.
  */
 // DO NOT override finalize(). The shutdown() method is called from AmazonHttpClient#shutdown()
 // which is called from it's finalize() method.  Since finalize methods can be be called in any
@@ -36,9 +36,20 @@ import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
 @ThreadSafe
 public class ClientExecutionTimer {
 
-    private static final String threadNamePrefix = "AwsSdkClientExecutionTimerThread";
+    private final HashedWheelTimer timer;
 
-    private volatile ScheduledThreadPoolExecutor executor;
+    private final AtomicLong scheduledTaskCount = new AtomicLong();
+
+    private final AtomicLong triggeredTaskCount = new AtomicLong();
+
+    public ClientExecutionTimer() {
+        this(HashedWheelTimer.getDefault());
+    }
+
+    @SdkTestInternalApi
+    public ClientExecutionTimer(HashedWheelTimer timer) {
+        this.timer = timer;
+    }
 
     /**
      * Start the timer with the specified timeout and return a object that can be used to track the
@@ -53,46 +64,55 @@ public class ClientExecutionTimer {
     public ClientExecutionAbortTrackerTask startTimer(int clientExecutionTimeoutMillis) {
         if (isTimeoutDisabled(clientExecutionTimeoutMillis)) {
             return NoOpClientExecutionAbortTrackerTask.INSTANCE;
-        } else if (executor == null) {
-            initializeExecutor();
         }
         return scheduleTimerTask(clientExecutionTimeoutMillis);
     }
 
     /**
-     * Executor is lazily initialized as it's not compatible with Java 6
+     * This method is current exposed for testing purposes
+     * 
+     * @return The underlying {@link HashedWheelTimer}
      */
-    private synchronized void initializeExecutor() {
-        if (executor == null) {
-            executor = TimeoutThreadPoolBuilder.buildDefaultTimeoutThreadPool(threadNamePrefix);
-        }
+    @SdkTestInternalApi
+    public HashedWheelTimer getTimer() {
+        return timer;
     }
 
     /**
-     * This method is current exposed for testing purposes
-     * 
-     * @return The underlying {@link ScheduledThreadPoolExecutor}
+     * @return Number of timer tasks started by this timer.
      */
     @SdkTestInternalApi
-    public ScheduledThreadPoolExecutor getExecutor() {
-        return this.executor;
+    public long getScheduledTaskCount() {
+        return scheduledTaskCount.get();
     }
 
     /**
-     * Shutdown the underlying {@link ScheduledThreadPoolExecutor}. Should be invoked when
-     * {@link AmazonHttpClient} is shutdown
+     * @return Number of timer tasks that were triggered, i.e. executions that timed out.
      */
-    public synchronized void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+    @SdkTestInternalApi
+    public long getTriggeredTaskCount() {
+        return triggeredTaskCount.get();
+    }
+
+    /**
+     * Should be invoked when {@link AmazonHttpClient} is shutdown. The shared
+     * {@link HashedWheelTimer} is left running for other clients; its worker thread exits on its
+     * own once no timeouts are pending.
+     */
+    public void shutdown() {
     }
 
     private ClientExecutionAbortTrackerTask scheduleTimerTask(int clientExecutionTimeoutMillis) {
-        ClientExecutionAbortTask timerTask = new ClientExecutionAbortTaskImpl(Thread.currentThread());
-        ScheduledFuture<?> timerTaskFuture = executor.schedule(timerTask, clientExecutionTimeoutMillis,
-                TimeUnit.MILLISECONDS);
-        return new ClientExecutionAbortTrackerTaskImpl(timerTask, timerTaskFuture);
+        final ClientExecutionAbortTask timerTask = new ClientExecutionAbortTaskImpl(Thread.currentThread());
+        scheduledTaskCount.incrementAndGet();
+        HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                triggeredTaskCount.incrementAndGet();
+                timerTask.run();
+            }
+        }, clientExecutionTimeoutMillis, TimeUnit.MILLISECONDS);
+        return new ClientExecutionAbortTrackerTaskImpl(timerTask, timeout);
     }
 
     private boolean isTimeoutDisabled(int clientExecutionTimeoutMillis) {
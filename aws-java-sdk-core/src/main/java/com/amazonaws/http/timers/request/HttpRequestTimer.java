@@ -14,19 +14,20 @@
  */
 package com.amazonaws.http.timers.request;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.http.client.methods.HttpRequestBase;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
-import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
+import com.amazonaws.http.timers.HashedWheelTimer;
 
 /**
- * Represents a timer class to enforce HTTP request timeouts.
+ * Represents a timer class to enforce HTTP request timeouts. Timer tasks are scheduled on a
+ * {@link HashedWheelTimer} which is shared with the {@link com.amazonaws.http.timers.client.ClientExecutionTimer}
+ * so a request costs one small allocation rather than a task in a locked delay queue.
  */
 // DO NOT override finalize(). The shutdown() method is called from AmazonHttpClient#shutdown()
 // which is called from it's finalize() method. Since finalize methods can be be called in any order
@@ -35,9 +36,20 @@ import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
 @SdkInternalApi
 public class HttpRequestTimer {
 
-    private static final String threadNamePrefix = "AwsSdkRequestTimerThread";
+    private final HashedWheelTimer timer;
 
-    private volatile ScheduledThreadPoolExecutor executor;
+    private final AtomicLong scheduledTaskCount = new AtomicLong();
+
+    private final AtomicLong triggeredTaskCount = new AtomicLong();
+
+    public HttpRequestTimer() {
+        this(HashedWheelTimer.getDefault());
+    }
+
+    @SdkTestInternalApi
+    public HttpRequestTimer(HashedWheelTimer timer) {
+        this.timer = timer;
+    }
 
     /**
      * Start the timer with the specified timeout and return a object that can be used to track the
@@ -54,12 +66,17 @@ public class HttpRequestTimer {
     public HttpRequestAbortTaskTracker startTimer(final HttpRequestBase apacheRequest, final int requestTimeoutMillis) {
         if (isTimeoutDisabled(requestTimeoutMillis)) {
             return NoOpHttpRequestAbortTaskTracker.INSTANCE;
-        } else if (executor == null) {
-            initializeExecutor();
         }
-        HttpRequestAbortTaskImpl timerTask = new HttpRequestAbortTaskImpl(apacheRequest);
-        ScheduledFuture<?> timerTaskFuture = executor.schedule(timerTask, requestTimeoutMillis, TimeUnit.MILLISECONDS);
-        return new HttpRequestAbortTaskTrackerImpl(timerTask, timerTaskFuture);
+        final HttpRequestAbortTaskImpl timerTask = new HttpRequestAbortTaskImpl(apacheRequest);
+        scheduledTaskCount.incrementAndGet();
+        HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                triggeredTaskCount.incrementAndGet();
+                timerTask.run();
+            }
+        }, requestTimeoutMillis, TimeUnit.MILLISECONDS);
+        return new HttpRequestAbortTaskTrackerImpl(timerTask, timeout);
     }
 
     private boolean isTimeoutDisabled(final int requestTimeoutMillis) {
@@ -67,32 +84,37 @@ public class HttpRequestTimer {
     }
 
     /**
-     * Executor is lazily initialized as it's not compatible with Java 6
+     * Should be invoked when {@link com.amazonaws.http.AmazonHttpClient} is shutdown. The shared
+     * {@link HashedWheelTimer} is left running for other clients; its worker thread exits on its
+     * own once no timeouts are pending.
      */
-    private synchronized void initializeExecutor() {
-        if (executor == null) {
-            executor = TimeoutThreadPoolBuilder.buildDefaultTimeoutThreadPool(threadNamePrefix);
-        }
+    public void shutdown() {
     }
 
     /**
-     * Shutdown the underlying {@link ScheduledThreadPoolExecutor}. Should be invoked when
-     * {@link com.amazonaws.http.AmazonHttpClient} is shutdown
+     * This method is current exposed for testing purposes
+     *
+     * @return The underlying {@link HashedWheelTimer}
      */
-    public synchronized void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+    @SdkTestInternalApi
+    public HashedWheelTimer getTimer() {
+        return timer;
     }
 
     /**
-     * This method is current exposed for testing purposes
-     * 
-     * @return The underlying {@link ScheduledThreadPoolExecutor}
+     * @return Number of timer tasks started by this timer.
+     */
+    @SdkTestInternalApi
+    public long getScheduledTaskCount() {
+        return scheduledTaskCount.get();
+    }
+
+    /**
+     * @return Number of timer tasks that were triggered, i.e. requests that timed out.
      */
     @SdkTestInternalApi
-    public ScheduledThreadPoolExecutor getExecutor() {
-        return executor;
+    public long getTriggeredTaskCount() {
+        return triggeredTaskCount.get();
     }
 
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.jmx;
+
+import java.util.Map;
+
+import com.amazonaws.metrics.InMemoryMeterRegistry;
+import com.amazonaws.metrics.LogLinearHistogram;
+
+/**
+ * Exports the SDK meters kept by an {@link InMemoryMeterRegistry} for JMX access.
+ */
+public class MeterRegistryAdmin implements MeterRegistryAdminMBean {
+
+    private final InMemoryMeterRegistry registry;
+
+    public MeterRegistryAdmin(InMemoryMeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String[] getMeters() {
+        Map<String, LogLinearHistogram> histograms = registry.getHistograms();
+        String[] meters = new String[histograms.size()];
+        int i = 0;
+        for (Map.Entry<String, LogLinearHistogram> entry : histograms.entrySet()) {
+            LogLinearHistogram histogram = entry.getValue();
+            long count = histogram.getCount();
+            meters[i++] = String.format("%s count=%d, sum=%.3f, mean=%.3f, p50=%.3f, p99=%.3f, max=%.3f",
+                    entry.getKey(), count, histogram.getSum(),
+                    count == 0 ? 0.0 : histogram.getSum() / count,
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                    histogram.getMax());
+        }
+        return meters;
+    }
+
+    @Override
+    public void reset() {
+        registry.clear();
+    }
+}
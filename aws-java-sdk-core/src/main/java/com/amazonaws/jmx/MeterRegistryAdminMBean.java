@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.jmx;
+
+/**
+ * MBean interface for monitoring the SDK meters kept by an
+ * {@link com.amazonaws.metrics.InMemoryMeterRegistry}.
+ */
+public interface MeterRegistryAdminMBean {
+    /**
+     * Returns the statistics of every meter recorded so far, one entry per
+     * meter, service and request type.
+     */
+    public String[] getMeters();
+
+    /**
+     * Discards all statistics recorded so far.
+     */
+    public void reset();
+}
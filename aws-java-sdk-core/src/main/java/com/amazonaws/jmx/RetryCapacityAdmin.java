@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.jmx;
+
+import java.util.List;
+
+import com.amazonaws.retry.internal.EndpointRetryCapacity;
+
+/**
+ * Exports the retry capacity of the clients in the current class loader for JMX access.
+ */
+public class RetryCapacityAdmin implements RetryCapacityAdminMBean {
+
+    @Override
+    public long getRefusedRetries() {
+        return EndpointRetryCapacity.getTotalRefusedRetries();
+    }
+
+    @Override
+    public String[] getEndpointCapacities() {
+        List<String> capacities = EndpointRetryCapacity.getEndpointCapacities();
+        return capacities.toArray(new String[capacities.size()]);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.jmx;
+
+/**
+ * MBean interface for monitoring the retry capacity of the clients in the current class loader.
+ */
+public interface RetryCapacityAdminMBean {
+    /**
+     * Returns the number of retries refused because the retry capacity of the
+     * endpoint was exhausted.
+     */
+    public long getRefusedRetries();
+
+    /**
+     * Returns the available and maximum retry capacity and the number of
+     * refused retries of every endpoint, one entry per client and endpoint.
+     */
+    public String[] getEndpointCapacities();
+}
@@ -16,10 +16,11 @@ package com.amazonaws.jmx;
 
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.jmx.spi.SdkGenericMBeanRegistry;
 import com.amazonaws.jmx.spi.SdkMBeanRegistry;
 import com.amazonaws.metrics.MetricAdmin;
 
-public class SdkMBeanRegistrySupport implements SdkMBeanRegistry {
+public class SdkMBeanRegistrySupport implements SdkMBeanRegistry, SdkGenericMBeanRegistry {
     ;
     @Override
     public boolean registerMetricAdminMBean(String objectName) {
@@ -31,6 +32,16 @@ public class SdkMBeanRegistrySupport implements SdkMBeanRegistry {
         return false;
     }
 
+    @Override
+    public boolean registerMBean(String objectName, Object mbean) {
+        try {
+            return MBeans.registerMBean(objectName, mbean);
+        } catch(Exception ex) {
+            LogFactory.getLog(SdkMBeanRegistrySupport.class).warn("", ex);
+        }
+        return false;
+    }
+
     @Override
     public boolean unregisterMBean(String objectName) {
         try {
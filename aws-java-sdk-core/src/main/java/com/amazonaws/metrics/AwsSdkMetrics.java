@@ -896,10 +896,12 @@ public enum AwsSdkMetrics {
 //            metricTypes.add(Field.ResponseProcessingTime);
             metricTypes.add(Field.RetryCount);
             metricTypes.add(Field.RetryCapacityConsumed);
+            metricTypes.add(Field.RetryCapacityAvailable);
             metricTypes.add(Field.ThrottledRetryCount);
             metricTypes.add(Field.HttpClientSendRequestTime);
             metricTypes.add(Field.HttpClientReceiveResponseTime);
             metricTypes.add(Field.HttpSocketReadTime);
+            metricTypes.add(Field.HttpClientConnectTime);
             metricTypes.add(Field.HttpClientPoolAvailableCount);
             metricTypes.add(Field.HttpClientPoolLeasedCount);
             metricTypes.add(Field.HttpClientPoolPendingCount);
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.jmx.MeterRegistryAdmin;
+import com.amazonaws.jmx.spi.SdkGenericMBeanRegistry;
+import com.amazonaws.jmx.spi.SdkMBeanRegistry;
+
+/**
+ * Keeps a {@link LogLinearHistogram} of each meter per service and request type in memory, so
+ * that pool saturation, retry storms and the like can be inspected locally, in process or over
+ * JMX with {@link #registerMBean(String)}.
+ */
+@ThreadSafe
+public class InMemoryMeterRegistry implements MeterRegistry {
+
+    /** Object name under which {@link #registerMBean()} registers the registry. */
+    public static final String MBEAN_OBJECT_NAME = "com.amazonaws.management:type=SdkMeters";
+
+    private final ConcurrentMap<MeterId, LogLinearHistogram> histograms =
+            new ConcurrentHashMap<MeterId, LogLinearHistogram>();
+
+    @Override
+    public void record(SdkMeter meter, String serviceName, String requestType, double value) {
+        MeterId id = new MeterId(meter, serviceName, requestType);
+        LogLinearHistogram histogram = histograms.get(id);
+        if (histogram == null) {
+            histogram = new LogLinearHistogram();
+            LogLinearHistogram existing = histograms.putIfAbsent(id, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        histogram.record(value);
+    }
+
+    /**
+     * @return The histogram of the samples of the given meter, service and request type, or null
+     *         if none was recorded.
+     */
+    public LogLinearHistogram getHistogram(SdkMeter meter, String serviceName, String requestType) {
+        return histograms.get(new MeterId(meter, serviceName, requestType));
+    }
+
+    /**
+     * @return A snapshot of the histograms of all meters recorded so far, sorted by name. Names
+     *         are of the form "serviceName/requestType/meter", without the request type for
+     *         samples not tied to a request.
+     */
+    public SortedMap<String, LogLinearHistogram> getHistograms() {
+        SortedMap<String, LogLinearHistogram> snapshot = new TreeMap<String, LogLinearHistogram>();
+        for (Map.Entry<MeterId, LogLinearHistogram> entry : histograms.entrySet()) {
+            snapshot.put(entry.getKey().toString(), entry.getValue());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discards all histograms recorded so far.
+     */
+    public void clear() {
+        histograms.clear();
+    }
+
+    /**
+     * Registers this registry as an MBean under {@link #MBEAN_OBJECT_NAME}.
+     *
+     * @return True if the registration succeeded; false otherwise, for instance if JMX is not
+     *         available or another registry is already registered under that name.
+     */
+    public boolean registerMBean() {
+        return registerMBean(MBEAN_OBJECT_NAME);
+    }
+
+    /**
+     * Registers this registry as an MBean under the given object name.
+     *
+     * @return True if the registration succeeded; false otherwise.
+     */
+    public boolean registerMBean(String objectName) {
+        SdkMBeanRegistry registry = SdkMBeanRegistry.Factory.getMBeanRegistry();
+        return registry instanceof SdkGenericMBeanRegistry
+               && ((SdkGenericMBeanRegistry) registry).registerMBean(objectName, new MeterRegistryAdmin(this));
+    }
+
+    private static class MeterId {
+        private final SdkMeter meter;
+        private final String serviceName;
+        private final String requestType;
+
+        MeterId(SdkMeter meter, String serviceName, String requestType) {
+            this.meter = meter;
+            this.serviceName = serviceName;
+            this.requestType = requestType;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = meter.hashCode();
+            result = 31 * result + (serviceName == null ? 0 : serviceName.hashCode());
+            return 31 * result + (requestType == null ? 0 : requestType.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MeterId)) {
+                return false;
+            }
+            MeterId other = (MeterId) obj;
+            return meter == other.meter
+                && (serviceName == null ? other.serviceName == null : serviceName.equals(other.serviceName))
+                && (requestType == null ? other.requestType == null : requestType.equals(other.requestType));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder().append(serviceName).append('/');
+            if (requestType != null) {
+                sb.append(requestType).append('/');
+            }
+            return sb.append(meter.name()).toString();
+        }
+    }
+}
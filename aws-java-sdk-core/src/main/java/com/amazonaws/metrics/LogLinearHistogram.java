@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Lock-free histogram of non-negative values, such as latencies in milliseconds or byte counts.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two between 2<sup>-10</sup> and
+ * 2<sup>40</sup> is split into eight equally wide buckets, so percentiles are
+ * reported within 12.5% of the recorded values. The count, sum, minimum and maximum are tracked
+ * exactly. Recording a value is a handful of atomic operations and never blocks or allocates,
+ * which makes it cheap enough to call on every request.
+ * </p>
+ */
+@ThreadSafe
+public class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -10;
+    private static final int MAX_EXPONENT = 40;
+    private static final int MANTISSA_SHIFT = 52 - SUB_BUCKET_BITS;
+
+    /**
+     * Bucket 0 counts values below 2^MIN_EXPONENT, the last bucket values of 2^(MAX_EXPONENT + 1)
+     * and above.
+     */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS + 2;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumBits = new AtomicLong(Double.doubleToLongBits(0.0));
+    private final AtomicLong minBits = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+    private final AtomicLong maxBits = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+
+    /**
+     * Records a value. Negative values are counted in the lowest bucket; NaN is ignored.
+     */
+    public void record(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        addToSum(value);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    /**
+     * @return Number of values recorded.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return Sum of the values recorded.
+     */
+    public double getSum() {
+        return Double.longBitsToDouble(sumBits.get());
+    }
+
+    /**
+     * @return Smallest value recorded, or 0 if none was.
+     */
+    public double getMin() {
+        double min = Double.longBitsToDouble(minBits.get());
+        return min == Double.POSITIVE_INFINITY ? 0 : min;
+    }
+
+    /**
+     * @return Largest value recorded, or 0 if none was.
+     */
+    public double getMax() {
+        double max = Double.longBitsToDouble(maxBits.get());
+        return max == Double.NEGATIVE_INFINITY ? 0 : max;
+    }
+
+    /**
+     * Returns an estimate of the value below which the given percentage of the recorded values
+     * fall, always within the recorded minimum and maximum.
+     *
+     * @param percentile
+     *            Percentile between 0 and 100, e.g. 99.9.
+     * @return The estimated value, or 0 if no value was recorded.
+     */
+    public double getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * total));
+        // The extremes are tracked exactly
+        if (rank == 1) {
+            return getMin();
+        } else if (rank == total) {
+            return getMax();
+        }
+        long seen = 0;
+        int index = 0;
+        for (; index < BUCKET_COUNT - 1; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                break;
+            }
+        }
+        if (index == BUCKET_COUNT - 1) {
+            return getMax();
+        }
+        double estimate = (bucketLowerBound(index) + bucketLowerBound(index + 1)) / 2;
+        return Math.min(getMax(), Math.max(getMin(), estimate));
+    }
+
+    static int bucketIndex(double value) {
+        if (value < Math.scalb(1.0, MIN_EXPONENT)) {
+            return 0;
+        }
+        int exponent = Math.getExponent(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (Double.doubleToRawLongBits(value) >>> MANTISSA_SHIFT) & (SUB_BUCKETS - 1);
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static double bucketLowerBound(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        int offset = index - 1;
+        int exponent = MIN_EXPONENT + offset / SUB_BUCKETS;
+        int subBucket = offset % SUB_BUCKETS;
+        return Math.scalb(1.0 + (double) subBucket / SUB_BUCKETS, exponent);
+    }
+
+    private void addToSum(double value) {
+        while (true) {
+            long current = sumBits.get();
+            long updated = Double.doubleToLongBits(Double.longBitsToDouble(current) + value);
+            if (sumBits.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private void updateMin(double value) {
+        while (true) {
+            long current = minBits.get();
+            if (value >= Double.longBitsToDouble(current)
+                || minBits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                return;
+            }
+        }
+    }
+
+    private void updateMax(double value) {
+        while (true) {
+            long current = maxBits.get();
+            if (value <= Double.longBitsToDouble(current)
+                || maxBits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * SPI receiving the {@link SdkMeter typed meters} of SDK internals, to bridge them to a metrics
+ * library such as Micrometer or Dropwizard Metrics, or to keep them in memory with
+ * {@link InMemoryMeterRegistry}. Samples are fed to the registry by a
+ * {@link MeterRegistryMetricCollector}.
+ * <p>
+ * Implementations are called on the threads executing requests and must be thread safe and
+ * cheap, and should not throw.
+ * </p>
+ */
+@ThreadSafe
+public interface MeterRegistry {
+
+    /**
+     * Records a sample of a meter.
+     *
+     * @param meter
+     *            The meter sampled.
+     * @param serviceName
+     *            Name of the service (e.g. "AmazonDynamoDBv2") or SDK component (e.g.
+     *            "HttpClient") the sample is about.
+     * @param requestType
+     *            Simple class name of the request (e.g. "PutItemRequest"), or null for samples
+     *            not tied to a request such as {@link SdkMeter#ConnectionLeaseTime}.
+     * @param value
+     *            The sample, in the {@link SdkMeter#getUnit() unit} of the meter.
+     */
+    void record(SdkMeter meter, String serviceName, String requestType, double value);
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSServiceMetrics;
+import com.amazonaws.util.TimingInfo;
+
+/**
+ * Feeds the {@link SdkMeter typed meters} of SDK internals to a {@link MeterRegistry}, from the
+ * request metrics captured during each request/response cycle and from the non-request specific
+ * service metrics such as the time spent leasing pooled connections.
+ * <p>
+ * Install it for all clients with {@link AwsSdkMetrics#setMetricCollector(MetricCollector)}, or
+ * for the requests of a single client with the collector returned by
+ * {@link #getRequestMetricCollector()}, in which case the non-request specific meters are not
+ * collected.
+ * </p>
+ *
+ * <pre>
+ * InMemoryMeterRegistry registry = new InMemoryMeterRegistry();
+ * AwsSdkMetrics.setMetricCollector(new MeterRegistryMetricCollector(registry));
+ * </pre>
+ */
+@ThreadSafe
+public class MeterRegistryMetricCollector extends MetricCollector {
+
+    private static final Log log = LogFactory.getLog(MeterRegistryMetricCollector.class);
+
+    private final MeterRegistry registry;
+
+    private final RequestMetricCollector requestMetricCollector = new RequestMetricCollector() {
+        @Override
+        public void collectMetrics(Request<?> request, Response<?> response) {
+            try {
+                collectRequestMetrics(request);
+            } catch (RuntimeException e) { // defensive code
+                log.debug("Ignoring unexpected failure", e);
+            }
+        }
+    };
+
+    private final ServiceMetricCollector serviceMetricCollector = new ServiceMetricCollector() {
+        @Override
+        public void collectByteThroughput(ByteThroughputProvider provider) {
+            try {
+                collectByteCount(provider);
+            } catch (RuntimeException e) { // defensive code
+                log.debug("Ignoring unexpected failure", e);
+            }
+        }
+
+        @Override
+        public void collectLatency(ServiceLatencyProvider provider) {
+            try {
+                collectServiceLatency(provider);
+            } catch (RuntimeException e) { // defensive code
+                log.debug("Ignoring unexpected failure", e);
+            }
+        }
+    };
+
+    public MeterRegistryMetricCollector(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("registry must not be null");
+        }
+        this.registry = registry;
+    }
+
+    /** Always returns true as there is nothing to start. */
+    @Override
+    public boolean start() {
+        return true;
+    }
+
+    /** Always returns true as there is nothing to stop. */
+    @Override
+    public boolean stop() {
+        return true;
+    }
+
+    /** Always returns true. */
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public RequestMetricCollector getRequestMetricCollector() {
+        return requestMetricCollector;
+    }
+
+    @Override
+    public ServiceMetricCollector getServiceMetricCollector() {
+        return serviceMetricCollector;
+    }
+
+    private void collectRequestMetrics(Request<?> request) {
+        AWSRequestMetrics metrics = request.getAWSRequestMetrics();
+        if (metrics == null || !metrics.isEnabled()) {
+            return;
+        }
+        String serviceName = request.getServiceName();
+        AmazonWebServiceRequest originalRequest = request.getOriginalRequest();
+        String requestType = originalRequest == null ? null : originalRequest.getClass().getSimpleName();
+        TimingInfo timingInfo = metrics.getTimingInfo();
+
+        Double executeTime = timingInfo.getTimeTakenMillisIfKnown();
+        if (executeTime != null) {
+            registry.record(SdkMeter.ClientExecuteTime, serviceName, requestType, executeTime);
+        }
+        recordTimings(SdkMeter.HttpRequestTime, Field.HttpRequestTime, timingInfo, serviceName, requestType);
+        recordTimings(SdkMeter.SigningTime, Field.RequestSigningTime, timingInfo, serviceName, requestType);
+        recordTimings(SdkMeter.UnmarshallingTime, Field.ResponseProcessingTime, timingInfo, serviceName, requestType);
+        recordTimings(SdkMeter.ConnectTime, Field.HttpClientConnectTime, timingInfo, serviceName, requestType);
+
+        recordCounter(SdkMeter.ConnectionPoolPending, Field.HttpClientPoolPendingCount, timingInfo, serviceName, requestType);
+        recordCounter(SdkMeter.ConnectionPoolLeased, Field.HttpClientPoolLeasedCount, timingInfo, serviceName, requestType);
+        recordCounter(SdkMeter.ConnectionPoolAvailable, Field.HttpClientPoolAvailableCount, timingInfo, serviceName, requestType);
+        recordCounter(SdkMeter.ThrottledRetryCount, Field.ThrottledRetryCount, timingInfo, serviceName, requestType);
+        recordCounter(SdkMeter.BytesReceived, Field.BytesProcessed, timingInfo, serviceName, requestType);
+
+        Number requestCount = timingInfo.getCounter(Field.RequestCount.name());
+        if (requestCount != null) {
+            registry.record(SdkMeter.RetryCount, serviceName, requestType,
+                            Math.max(0, requestCount.longValue() - 1));
+        }
+        List<Object> throttles = metrics.getProperty(Field.ThrottleException);
+        registry.record(SdkMeter.ThrottleCount, serviceName, requestType, throttles == null ? 0 : throttles.size());
+    }
+
+    private void recordTimings(SdkMeter meter, Field field, TimingInfo timingInfo,
+                               String serviceName, String requestType) {
+        List<TimingInfo> timings = timingInfo.getAllSubMeasurements(field.name());
+        if (timings == null) {
+            return;
+        }
+        for (TimingInfo timing : timings) {
+            Double millis = timing.getTimeTakenMillisIfKnown();
+            if (millis != null) {
+                registry.record(meter, serviceName, requestType, millis);
+            }
+        }
+    }
+
+    private void recordCounter(SdkMeter meter, Field field, TimingInfo timingInfo,
+                               String serviceName, String requestType) {
+        Number counter = timingInfo.getCounter(field.name());
+        if (counter != null) {
+            registry.record(meter, serviceName, requestType, counter.doubleValue());
+        }
+    }
+
+    private void collectByteCount(ByteThroughputProvider provider) {
+        ServiceMetricType byteCountType = provider.getThroughputMetricType().getByteCountMetricType();
+        String name = byteCountType.name();
+        if (name.endsWith(ServiceMetricType.UPLOAD_BYTE_COUNT_NAME_SUFFIX)) {
+            registry.record(SdkMeter.BytesSent, byteCountType.getServiceName(), null, provider.getByteCount());
+        } else if (name.endsWith(ServiceMetricType.DOWNLOAD_BYTE_COUNT_NAME_SUFFIX)) {
+            registry.record(SdkMeter.BytesReceived, byteCountType.getServiceName(), null, provider.getByteCount());
+        }
+    }
+
+    private void collectServiceLatency(ServiceLatencyProvider provider) {
+        ServiceMetricType type = provider.getServiceMetricType();
+        if (type == AWSServiceMetrics.HttpClientGetConnectionTime) {
+            registry.record(SdkMeter.ConnectionLeaseTime, type.getServiceName(), null, provider.getDurationMilli());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+/**
+ * Typed meters of SDK internals exported to a {@link MeterRegistry}. Every meter is a stream of
+ * samples; a registry typically keeps a histogram of each, so that for example the mean of
+ * {@link #RetryCount} is the number of retries per request and its sum the total.
+ */
+public enum SdkMeter {
+    /**
+     * Time taken to execute a request, including all retries.
+     */
+    ClientExecuteTime(Unit.Milliseconds),
+    /**
+     * Time taken by each attempt to send a request and receive the response.
+     */
+    HttpRequestTime(Unit.Milliseconds),
+    /**
+     * Time taken to sign each attempt.
+     */
+    SigningTime(Unit.Milliseconds),
+    /**
+     * Time taken to unmarshall a response.
+     */
+    UnmarshallingTime(Unit.Milliseconds),
+    /**
+     * Time taken to establish a new connection, including the TLS handshake.
+     */
+    ConnectTime(Unit.Milliseconds),
+    /**
+     * Time spent waiting to lease a connection from the connection pool.
+     */
+    ConnectionLeaseTime(Unit.Milliseconds),
+    /**
+     * Number of connection requests waiting for a free pooled connection, sampled per attempt.
+     */
+    ConnectionPoolPending(Unit.Count),
+    /**
+     * Number of pooled connections in use, sampled per attempt.
+     */
+    ConnectionPoolLeased(Unit.Count),
+    /**
+     * Number of idle pooled connections, sampled per attempt.
+     */
+    ConnectionPoolAvailable(Unit.Count),
+    /**
+     * Number of retries of a request.
+     */
+    RetryCount(Unit.Count),
+    /**
+     * Number of throttling errors received for a request.
+     */
+    ThrottleCount(Unit.Count),
+    /**
+     * Number of retries of a request not attempted because the retry capacity was exhausted.
+     */
+    ThrottledRetryCount(Unit.Count),
+    /**
+     * Number of bytes sent in request payloads that are streamed, such as S3 uploads.
+     */
+    BytesSent(Unit.Bytes),
+    /**
+     * Number of bytes received in response payloads.
+     */
+    BytesReceived(Unit.Bytes),
+    ;
+
+    /**
+     * Unit of the samples of a meter.
+     */
+    public enum Unit {
+        Milliseconds, Count, Bytes
+    }
+
+    private final Unit unit;
+
+    private SdkMeter(Unit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * @return The unit of the samples of this meter.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+}
@@ -59,6 +59,9 @@
  * to get sent to AWS. Captured on a per request type level.</li>
  * <li>HttpClientReceiveResponseTime - Number of milliseconds taken for a physical response
  * to get received from AWS. Captured on a per request type level.</li>
+ * <li>HttpClientConnectTime - Number of milliseconds taken to establish a new
+ * connection to AWS, including the TLS handshake. Only captured for requests
+ * that could not reuse a pooled connection.</li>
  * <li>HttpClientRetryCount - Number of retries per physical request. Captured on a per service 
  * client type level. </li>
  * <li>RequestCount - Number of logical requests. Captured on a per service 
@@ -14,7 +14,6 @@
  */
 package com.amazonaws.protocol.json;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -23,6 +22,7 @@ import java.util.Date;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.SdkClientException;
+import com.amazonaws.protocol.json.internal.PooledByteArrayOutputStream;
 import com.amazonaws.util.BinaryUtils;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonWriter;
@@ -31,6 +31,12 @@ import software.amazon.ion.system.IonWriterBuilder;
 
 @SdkInternalApi
 abstract class SdkIonGenerator implements StructuredJsonGenerator {
+    /**
+     * Initial size of the buffer the content is written to, matching the one of
+     * {@link SdkJsonGenerator}.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
     private final String contentType;
     protected final IonWriter writer;
 
@@ -214,27 +220,33 @@ abstract class SdkIonGenerator implements StructuredJsonGenerator {
     }
 
     public static SdkIonGenerator create(IonWriterBuilder builder, String contentType) {
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PooledByteArrayOutputStream bytes = new PooledByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
         IonWriter writer = builder.build(bytes);
         return new ByteArraySdkIonGenerator(bytes, writer, contentType);
     }
 
     private static class ByteArraySdkIonGenerator extends SdkIonGenerator {
-        private final ByteArrayOutputStream bytes;
+        private final PooledByteArrayOutputStream bytes;
+        private byte[] content;
 
-        public ByteArraySdkIonGenerator(ByteArrayOutputStream bytes, IonWriter writer, String contentType) {
+        public ByteArraySdkIonGenerator(PooledByteArrayOutputStream bytes, IonWriter writer, String contentType) {
             super(writer, contentType);
             this.bytes = bytes;
         }
 
         @Override
         public byte[] getBytes() {
+            if (content != null) {
+                return content.clone();
+            }
             try {
                 writer.finish();
             } catch (IOException e) {
                 throw new SdkClientException(e);
             }
-            return bytes.toByteArray();
+            content = bytes.toByteArray();
+            bytes.release();
+            return content;
         }
     }
 }
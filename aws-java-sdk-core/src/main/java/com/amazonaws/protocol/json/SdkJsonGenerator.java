@@ -16,12 +16,12 @@ package com.amazonaws.protocol.json;
 
 import com.amazonaws.SdkClientException;
 import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.protocol.json.internal.PooledByteArrayOutputStream;
 import com.amazonaws.util.BinaryUtils;
 import com.amazonaws.util.DateUtils;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -50,7 +50,10 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         }
     }
 
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final PooledByteArrayOutputStream baos = new PooledByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+
+    /** Content copied out of the pooled buffer the first time it is requested. */
+    private byte[] bytes;
 
     private final JsonGenerator generator;
 
@@ -265,8 +268,13 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
      */
     @Override
     public byte[] getBytes() {
-        close();
-        return baos.toByteArray();
+        if (bytes == null) {
+            close();
+            bytes = baos.toByteArray();
+            baos.release();
+            return bytes;
+        }
+        return bytes.clone();
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+
+/**
+ * {@link ByteArrayOutputStream} whose backing array is taken from, and given back to, a pool
+ * shared by all marshallers so that the array a payload is generated into is reused across
+ * requests rather than allocated and grown again for each one.
+ * <p>
+ * Call {@link #release()} once the content has been copied out; the stream must not be used
+ * afterwards. Streams that are never released simply leave their array to the garbage collector.
+ */
+@NotThreadSafe
+@SdkInternalApi
+public final class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /** Arrays grown beyond this size are not kept, to bound the memory held by the pool. */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final Queue<byte[]> pool = new ConcurrentLinkedQueue<byte[]>();
+
+    private static final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    private boolean released;
+
+    /**
+     * @param initialSize Minimum size of the backing array.
+     */
+    public PooledByteArrayOutputStream(int initialSize) {
+        super(0);
+        this.buf = acquire(initialSize);
+    }
+
+    /**
+     * Returns the backing array to the pool.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        byte[] buffer = buf;
+        buf = EMPTY;
+        count = 0;
+        if (buffer.length > MAX_POOLED_BUFFER_SIZE) {
+            return;
+        }
+        if (pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            pool.offer(buffer);
+        } else {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    private static byte[] acquire(int minSize) {
+        byte[] buffer = pool.poll();
+        if (buffer == null) {
+            return new byte[minSize];
+        }
+        pooledBuffers.decrementAndGet();
+        return buffer.length >= minSize ? buffer : new byte[minSize];
+    }
+
+    @SdkTestInternalApi
+    static int getPooledBufferCount() {
+        return pooledBuffers.get();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Client side token bucket rate limiter whose rate adapts to throttling responses from the
+ * service.
+ * <p>
+ * The limiter stays out of the way until the first throttling error is seen. From then on every
+ * attempt must acquire a token before it is sent. A throttling error cuts the fill rate to a
+ * fraction of the rate the client was sending at, and successful responses grow it back along a
+ * cubic curve (as in the CUBIC congestion control algorithm): quickly at first, flattening out
+ * around the rate at which the service last throttled, then probing beyond it.
+ * </p>
+ * <p>
+ * Only throttling errors wait for the state of the limiter to be updated. A successful response
+ * that finds the limiter busy is only counted, since growing the rate only depends on the time
+ * elapsed since the last throttle and the next successful response catches up.
+ * </p>
+ *
+ * @see com.amazonaws.ClientConfiguration#setUseAdaptiveRateLimiting(boolean)
+ */
+@ThreadSafe
+@SdkInternalApi
+public class AdaptiveRateLimiter {
+
+    /** Weight of the most recent measurement in the smoothed sending rate. */
+    private static final double SMOOTH = 0.8;
+
+    /** Multiplicative decrease applied to the rate on throttle. */
+    private static final double BETA = 0.7;
+
+    /** Scales the cubic growth of the rate after a throttle. */
+    private static final double SCALE_CONSTANT = 0.4;
+
+    private static final double MIN_FILL_RATE = 0.5;
+
+    private static final double MIN_CAPACITY = 1.0;
+
+    /** Width, in seconds, of the buckets the sending rate is measured over. */
+    private static final double MEASUREMENT_BUCKET_SECONDS = 0.5;
+
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double fillRate;
+    private double maxCapacity;
+    private double currentCapacity;
+    private double lastTimestamp = -1;
+    private volatile boolean enabled;
+
+    private double measuredTxRate;
+    private double lastTxRateBucket;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private double lastMaxRate;
+    private double lastThrottleTime;
+    private double timeWindow;
+
+    public AdaptiveRateLimiter() {
+        this(Clock.SYSTEM);
+    }
+
+    @SdkTestInternalApi
+    AdaptiveRateLimiter(Clock clock) {
+        this.clock = clock;
+        this.lastTxRateBucket = Math.floor(clock.seconds());
+        this.lastThrottleTime = clock.seconds();
+    }
+
+    /**
+     * Acquire a token to send a request, waiting for the bucket to refill if needed. Returns
+     * immediately while no throttling error has been seen.
+     *
+     * @throws InterruptedException If interrupted while waiting for a token.
+     */
+    public void acquire() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        final long waitMillis;
+        lock.lock();
+        try {
+            refill();
+            if (currentCapacity >= 1) {
+                currentCapacity -= 1;
+                return;
+            }
+            // Reserve the token now so concurrent callers queue up behind this one
+            waitMillis = (long) Math.ceil((1 - currentCapacity) / fillRate * 1000);
+            currentCapacity -= 1;
+        } finally {
+            lock.unlock();
+        }
+        clock.sleep(waitMillis);
+    }
+
+    /**
+     * Update the sending rate from the outcome of an attempt.
+     *
+     * @param throttled True if the service responded with a throttling error.
+     */
+    public void onResponse(boolean throttled) {
+        requestCount.incrementAndGet();
+        if (throttled) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            updateMeasuredRate();
+            final double now = clock.seconds();
+            double calculatedRate;
+            if (throttled) {
+                double rateToUse = enabled ? Math.min(measuredTxRate, fillRate) : measuredTxRate;
+                lastMaxRate = rateToUse;
+                calculateTimeWindow();
+                lastThrottleTime = now;
+                calculatedRate = rateToUse * BETA;
+                enabled = true;
+            } else {
+                calculateTimeWindow();
+                calculatedRate = SCALE_CONSTANT * Math.pow(now - lastThrottleTime - timeWindow, 3) + lastMaxRate;
+            }
+            updateBucketRate(Math.min(calculatedRate, 2 * measuredTxRate));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return True once a throttling error has been seen and requests are rate limited.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Rate, in requests per second, at which the bucket currently refills.
+     */
+    public double getFillRate() {
+        lock.lock();
+        try {
+            return fillRate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        final double now = clock.seconds();
+        if (lastTimestamp >= 0) {
+            currentCapacity = Math.min(maxCapacity, currentCapacity + (now - lastTimestamp) * fillRate);
+        }
+        lastTimestamp = now;
+    }
+
+    private void updateBucketRate(double newRate) {
+        refill();
+        fillRate = Math.max(newRate, MIN_FILL_RATE);
+        maxCapacity = Math.max(newRate, MIN_CAPACITY);
+        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    }
+
+    private void calculateTimeWindow() {
+        timeWindow = Math.cbrt(lastMaxRate * (1 - BETA) / SCALE_CONSTANT);
+    }
+
+    private void updateMeasuredRate() {
+        final double now = clock.seconds();
+        final double timeBucket = Math.floor(now / MEASUREMENT_BUCKET_SECONDS) * MEASUREMENT_BUCKET_SECONDS;
+        if (timeBucket > lastTxRateBucket) {
+            double currentRate = requestCount.getAndSet(0) / (timeBucket - lastTxRateBucket);
+            measuredTxRate = currentRate * SMOOTH + measuredTxRate * (1 - SMOOTH);
+            lastTxRateBucket = timeBucket;
+        }
+    }
+
+    /**
+     * Source of time, replaceable in tests.
+     */
+    interface Clock {
+
+        Clock SYSTEM = new Clock() {
+            @Override
+            public double seconds() {
+                return System.nanoTime() / 1e9;
+            }
+
+            @Override
+            public void sleep(long millis) throws InterruptedException {
+                Thread.sleep(millis);
+            }
+        };
+
+        double seconds();
+
+        void sleep(long millis) throws InterruptedException;
+    }
+}
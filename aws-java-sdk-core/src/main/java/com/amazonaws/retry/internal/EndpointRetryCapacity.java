@@ -0,0 +1,249 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.jmx.RetryCapacityAdmin;
+import com.amazonaws.jmx.spi.SdkGenericMBeanRegistry;
+import com.amazonaws.jmx.spi.SdkMBeanRegistry;
+import com.amazonaws.util.CapacityManager;
+
+/**
+ * Retry capacity (retry budget) of a client, kept separately for every endpoint the client talks
+ * to so that an unhealthy endpoint cannot exhaust the retries available to the healthy ones.
+ * Endpoints should be keyed coarsely, by service region rather than by host, so that the number
+ * of entries stays bounded and resource specific hosts such as S3 bucket endpoints share a budget.
+ * <p>
+ * Capacity is held in lock free {@link CapacityManager}s, one per endpoint, created on first use.
+ * The number of retries refused for lack of capacity is tracked per endpoint and exported, along
+ * with the remaining capacity of every live client, through the
+ * {@link com.amazonaws.jmx.RetryCapacityAdminMBean} registered under {@link #MBEAN_OBJECT_NAME}.
+ */
+@ThreadSafe
+@SdkInternalApi
+public class EndpointRetryCapacity {
+
+    private static final Log log = LogFactory.getLog(EndpointRetryCapacity.class);
+
+    public static final String MBEAN_OBJECT_NAME = "com.amazonaws.management:type=RetryCapacity";
+
+    /**
+     * Clients currently holding retry capacity, weakly referenced so that they can be garbage
+     * collected without being closed.
+     */
+    private static final Set<EndpointRetryCapacity> instances =
+            Collections.newSetFromMap(new WeakHashMap<EndpointRetryCapacity, Boolean>());
+
+    private static final AtomicLong totalRefusedRetries = new AtomicLong();
+
+    private static volatile String registeredAdminMbeanName;
+
+    static {
+        try {
+            registerAdminMBean();
+        } catch (Exception ex) {
+            log.warn("", ex);
+        }
+    }
+
+    private final int maxCapacity;
+    private final CapacityManager passthrough;
+    private final ConcurrentMap<String, Endpoint> endpoints;
+
+    /**
+     * @param maxCapacity Capacity available to each endpoint. If negative, retries are never
+     *                    refused and no capacity is tracked.
+     */
+    public EndpointRetryCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        if (maxCapacity < 0) {
+            this.passthrough = new CapacityManager(maxCapacity);
+            this.endpoints = null;
+        } else {
+            this.passthrough = null;
+            this.endpoints = new ConcurrentHashMap<String, Endpoint>();
+            synchronized (instances) {
+                instances.add(this);
+            }
+        }
+    }
+
+    /**
+     * Attempts to acquire capacity for a retry to the given endpoint, counting a refusal if there
+     * is not enough of it.
+     *
+     * @return true if capacity was acquired, false if not
+     */
+    public boolean acquire(String endpoint, int capacity) {
+        if (endpoints == null) {
+            return passthrough.acquire(capacity);
+        }
+        Endpoint e = endpoint(endpoint);
+        if (e.capacity.acquire(capacity)) {
+            return true;
+        }
+        e.refusedRetries.incrementAndGet();
+        totalRefusedRetries.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Releases capacity back to the pool of the given endpoint.
+     */
+    public void release(String endpoint, int capacity) {
+        if (endpoints == null) {
+            passthrough.release(capacity);
+            return;
+        }
+        endpoint(endpoint).capacity.release(capacity);
+    }
+
+    /**
+     * @return The capacity currently available for retries to the given endpoint, or a negative
+     *         value if capacity is not tracked.
+     */
+    public int availableCapacity(String endpoint) {
+        if (endpoints == null) {
+            return passthrough.availableCapacity();
+        }
+        Endpoint e = endpoints.get(endpoint);
+        return e == null ? maxCapacity : e.capacity.availableCapacity();
+    }
+
+    /**
+     * @return The capacity currently consumed by retries to the given endpoint.
+     */
+    public int consumedCapacity(String endpoint) {
+        if (endpoints == null) {
+            return passthrough.consumedCapacity();
+        }
+        Endpoint e = endpoints.get(endpoint);
+        return e == null ? 0 : e.capacity.consumedCapacity();
+    }
+
+    /**
+     * @return The number of retries to the given endpoint refused for lack of capacity.
+     */
+    public long refusedRetries(String endpoint) {
+        Endpoint e = endpoints == null ? null : endpoints.get(endpoint);
+        return e == null ? 0 : e.refusedRetries.get();
+    }
+
+    private Endpoint endpoint(String key) {
+        Endpoint e = endpoints.get(key);
+        if (e == null) {
+            Endpoint newEndpoint = new Endpoint(maxCapacity);
+            e = endpoints.putIfAbsent(key, newEndpoint);
+            if (e == null) {
+                e = newEndpoint;
+            }
+        }
+        return e;
+    }
+
+    /**
+     * @return The number of retries refused for lack of capacity by all clients of this class
+     *         loader.
+     */
+    public static long getTotalRefusedRetries() {
+        return totalRefusedRetries.get();
+    }
+
+    /**
+     * @return One entry per endpoint of every live client, in the format
+     *         "endpoint: available/max, refused=count".
+     */
+    public static List<String> getEndpointCapacities() {
+        List<EndpointRetryCapacity> snapshot;
+        synchronized (instances) {
+            snapshot = new ArrayList<EndpointRetryCapacity>(instances);
+        }
+        List<String> result = new ArrayList<String>();
+        for (EndpointRetryCapacity instance : snapshot) {
+            for (Map.Entry<String, Endpoint> entry : instance.endpoints.entrySet()) {
+                Endpoint e = entry.getValue();
+                result.add(entry.getKey() + ": " + e.capacity.availableCapacity() + "/"
+                           + instance.maxCapacity + ", refused=" + e.refusedRetries.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers the retry capacity admin MBean for JMX access for the current classloader. If one
+     * has already been registered under a different class loader it is registered under
+     * {@link #MBEAN_OBJECT_NAME} with an additional suffix in the format of "/&lt;count&gt;".
+     *
+     * @return true if the registration succeeded; false otherwise.
+     */
+    public static boolean registerAdminMBean() {
+        SdkMBeanRegistry registry = SdkMBeanRegistry.Factory.getMBeanRegistry();
+        synchronized (EndpointRetryCapacity.class) {
+            if (registeredAdminMbeanName != null) {
+                return false;
+            }
+            String mbeanName = MBEAN_OBJECT_NAME;
+            boolean registered = registerAdminMBean(registry, mbeanName);
+            if (!registered) {
+                int count = 0;
+                while (registry.isMBeanRegistered(mbeanName)) {
+                    mbeanName = MBEAN_OBJECT_NAME + "/" + ++count;
+                }
+                registered = registerAdminMBean(registry, mbeanName);
+            }
+            if (registered) {
+                registeredAdminMbeanName = mbeanName;
+                log.debug("Retry capacity mbean registered under " + mbeanName);
+            }
+            return registered;
+        }
+    }
+
+    private static boolean registerAdminMBean(SdkMBeanRegistry registry, String mbeanName) {
+        return registry instanceof SdkGenericMBeanRegistry
+               && ((SdkGenericMBeanRegistry) registry).registerMBean(mbeanName, new RetryCapacityAdmin());
+    }
+
+    /**
+     * @return The name of the registered admin mbean; or null if it is not currently registered.
+     */
+    public static String getRegisteredAdminMbeanName() {
+        return registeredAdminMbeanName;
+    }
+
+    private static final class Endpoint {
+
+        private final CapacityManager capacity;
+        private final AtomicLong refusedRetries = new AtomicLong();
+
+        private Endpoint(int maxCapacity) {
+            this.capacity = new CapacityManager(maxCapacity);
+        }
+    }
+}
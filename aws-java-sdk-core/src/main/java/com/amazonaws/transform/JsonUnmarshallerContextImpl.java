@@ -21,9 +21,9 @@ import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
 import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
 
 import com.amazonaws.http.HttpResponse;
 import com.fasterxml.jackson.core.JsonParser;
@@ -31,6 +31,8 @@ import com.fasterxml.jackson.core.JsonToken;
 
 public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
+    private static final int INITIAL_STACK_CAPACITY = 16;
+
     /** The current JsonToken that the private JsonParser is currently pointing to. **/
     private JsonToken currentToken;
 
@@ -42,7 +44,7 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     private String currentHeader;
 
     /**
-     * A stack of JsonFieldTokenPair objects that indicates the current state of the context.
+     * A stack of (field, token) pairs that indicates the current state of the context.
      * For example, if we have a JSON object:
      * {
      *   A :
@@ -58,15 +60,20 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
      * }
      * When the parser points to "D", the state of this stack should be (from top to bottom):
      *  [ (C, START_OBJECT), (B, START_ARRAY), (A, START_OBJECT) ]
+     * <p>
+     * The pairs are kept in two parallel arrays indexed by {@link #stackSize} rather than in a
+     * {@link java.util.Stack} of pair objects, so that descending into a structure neither
+     * allocates nor takes the monitor of a synchronized collection.
      */
-    private final Stack<JsonFieldTokenPair> stack = new Stack<JsonFieldTokenPair>();
+    private String[] stackFields = new String[INITIAL_STACK_CAPACITY];
+    private JsonToken[] stackTokens = new JsonToken[INITIAL_STACK_CAPACITY];
+    private int stackSize;
 
     /**
      * The name of the field that is currently being parsed. This value is
      * nulled out when the parser reaches into the object/array structure of the
-     * corresponding value, and then it will be pushed into the stack after
-     * wrapped into a JsonFieldTokenPair object with the START_OBJECT or
-     * START_ARRAY token following it.
+     * corresponding value, and then it will be pushed into the stack together
+     * with the START_OBJECT or START_ARRAY token following it.
      * So in the same example as shown above:
      *   (1) when the parser moves from "C" to "{", (currentField, START_OBJECT)
      *       will be pushed into the stack and currentField will be set null;
@@ -107,7 +114,7 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
     @Override
     public int getCurrentDepth() {
-        int depth = stack.size();
+        int depth = stackSize;
         if (currentField != null) depth++;
         return depth;
     }
@@ -158,8 +165,8 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
             if (currentField != null) {
                 return currentField.equals(expression);
             } else {
-                return (!stack.isEmpty())
-                        && stack.peek().getField().equals(expression);
+                return stackSize > 0
+                        && stackFields[stackSize - 1].equals(expression);
             }
         }
     }
@@ -169,8 +176,8 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         String parentElement;
         if (currentField != null) {
             parentElement = currentField;
-        } else if ( !stack.isEmpty() ) {
-            parentElement = stack.peek().getField();
+        } else if (stackSize > 0) {
+            parentElement = stackFields[stackSize - 1];
         } else {
             parentElement = "";
         }
@@ -242,15 +249,16 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
         if (currentToken == START_OBJECT || currentToken == START_ARRAY) {
             if (currentField != null) {
-                stack.push(new JsonFieldTokenPair(currentField, currentToken));
+                push(currentField, currentToken);
                 currentField = null;
             }
         } else if (currentToken == END_OBJECT || currentToken == END_ARRAY) {
-            if (!stack.isEmpty()) {
-                boolean squareBracketsMatch = currentToken == END_ARRAY && stack.peek().getToken() == START_ARRAY;
-                boolean curlyBracketsMatch = currentToken == END_OBJECT && stack.peek().getToken() == START_OBJECT;
+            if (stackSize > 0) {
+                JsonToken parentToken = stackTokens[stackSize - 1];
+                boolean squareBracketsMatch = currentToken == END_ARRAY && parentToken == START_ARRAY;
+                boolean curlyBracketsMatch = currentToken == END_OBJECT && parentToken == START_OBJECT;
                 if (squareBracketsMatch || curlyBracketsMatch) {
-                    lastParsedParentElement = stack.pop().getField();
+                    lastParsedParentElement = pop();
                 }
             }
             currentField = null;
@@ -260,13 +268,31 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         }
     }
 
+    private void push(String field, JsonToken token) {
+        if (stackSize == stackFields.length) {
+            stackFields = Arrays.copyOf(stackFields, stackSize * 2);
+            stackTokens = Arrays.copyOf(stackTokens, stackSize * 2);
+        }
+        stackFields[stackSize] = field;
+        stackTokens[stackSize] = token;
+        stackSize++;
+    }
+
+    private String pop() {
+        stackSize--;
+        String field = stackFields[stackSize];
+        stackFields[stackSize] = null;
+        stackTokens[stackSize] = null;
+        return field;
+    }
+
     @Override
     public String toString() {
         StringBuilder stackString = new StringBuilder();
 
-        for (JsonFieldTokenPair jsonFieldTokenPair : stack) {
+        for (int i = 0; i < stackSize; i++) {
             stackString.append("/")
-                       .append(jsonFieldTokenPair.getField());
+                       .append(stackFields[i]);
         }
 
         if (currentField != null) {
@@ -281,37 +307,4 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     public String getLastParsedParentElement() {
         return lastParsedParentElement;
     }
-
-    /**
-     * An immutable class used to indicate a JSON field value followed by a
-     * subsequent JSON token. This inner class should only be used by the
-     * private stack to indicate the current state of the context.
-     */
-    private static class JsonFieldTokenPair {
-        private final String field;
-        private final JsonToken jsonToken;
-
-        /**
-         * @param fieldString
-         *            Not null.
-         * @param token
-         *            Not null.
-         */
-        public JsonFieldTokenPair(String fieldString, JsonToken token) {
-            field = fieldString;
-            jsonToken = token;
-        }
-
-        public String getField() {
-            return field;
-        }
-
-        public JsonToken getToken() {
-            return jsonToken;
-        }
-
-        public String toString() {
-            return field + ": " + jsonToken.asString();
-        }
-    }
 }
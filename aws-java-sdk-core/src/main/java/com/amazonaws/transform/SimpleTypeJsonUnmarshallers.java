@@ -21,8 +21,19 @@ import java.util.Date;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.util.Base64;
 import com.amazonaws.util.DateUtils;
+import com.fasterxml.jackson.core.JsonToken;
 
 public class SimpleTypeJsonUnmarshallers {
+
+    /**
+     * Numeric and boolean tokens are read straight off the parser rather than round tripped
+     * through {@link JsonUnmarshallerContext#readText()}, which boxes the number and formats it
+     * to a String only to have it parsed again. Values bound from headers have no current token
+     * and still go through readText.
+     */
+    private static boolean isNumberToken(JsonToken token) {
+        return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+    }
     /**
      * Unmarshaller for String values.
      */
@@ -43,6 +54,9 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class DoubleJsonUnmarshaller implements Unmarshaller<Double, JsonUnmarshallerContext> {
         public Double unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
+            if (isNumberToken(unmarshallerContext.getCurrentToken())) {
+                return unmarshallerContext.getJsonParser().getDoubleValue();
+            }
             String doubleString = unmarshallerContext.readText();
             return (doubleString == null) ? null : Double.parseDouble(doubleString);
         }
@@ -59,6 +73,9 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class IntegerJsonUnmarshaller implements Unmarshaller<Integer, JsonUnmarshallerContext> {
         public Integer unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
+            if (unmarshallerContext.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return unmarshallerContext.getJsonParser().getIntValue();
+            }
             String intString = unmarshallerContext.readText();
             return (intString == null) ? null : Integer.parseInt(intString);
         }
@@ -101,6 +118,10 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class BooleanJsonUnmarshaller implements Unmarshaller<Boolean, JsonUnmarshallerContext> {
         public Boolean unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
+            JsonToken token = unmarshallerContext.getCurrentToken();
+            if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+                return token == JsonToken.VALUE_TRUE;
+            }
             String booleanString = unmarshallerContext.readText();
             return (booleanString == null) ? null : Boolean.parseBoolean(booleanString);
         }
@@ -133,6 +154,9 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class LongJsonUnmarshaller implements Unmarshaller<Long, JsonUnmarshallerContext> {
         public Long unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
+            if (unmarshallerContext.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return unmarshallerContext.getJsonParser().getLongValue();
+            }
             String longString = unmarshallerContext.readText();
             return (longString == null) ? null : Long.parseLong(longString);
         }
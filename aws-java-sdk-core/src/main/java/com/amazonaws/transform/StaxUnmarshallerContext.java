@@ -15,6 +15,7 @@
 package com.amazonaws.transform;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -40,8 +41,27 @@ public class StaxUnmarshallerContext {
     private XMLEvent currentEvent;
     private final XMLEventReader eventReader;
 
+    /**
+     * Names of the elements currently open, outermost first.
+     *
+     * @deprecated The SDK matches paths with {@link #testExpression(String)}
+     *             and {@link #getCurrentDepth()}; this stack is only kept up
+     *             to date for custom unmarshallers still reading it.
+     */
+    @Deprecated
     public final Stack<String> stack = new Stack<String>();
-    private String stackString = "";
+
+    /**
+     * Path of the current position in the document, e.g. "/a/b/@c". Elements
+     * are only ever appended to or truncated from the end, so the path is kept
+     * in a single unsynchronized builder rather than rebuilt on every event.
+     */
+    private final StringBuilder path = new StringBuilder(256);
+    /** Length of the path before each element currently open was appended. */
+    private int[] parentPathLengths = new int[16];
+    private int depth;
+    /** Length of the path without the trailing attribute, if any. */
+    private int elementPathLength;
 
     private Map<String, String> metadata = new HashMap<String, String>();
     private List<MetadataExpression> metadataExpressions = new ArrayList<MetadataExpression>();
@@ -137,7 +157,7 @@ public class StaxUnmarshallerContext {
      *         document being parsed.
      */
     public int getCurrentDepth() {
-        return stack.size();
+        return depth;
     }
 
     /**
@@ -151,7 +171,7 @@ public class StaxUnmarshallerContext {
      */
     public boolean testExpression(String expression) {
         if (expression.equals(".")) return true;
-        return stackString.endsWith(expression);
+        return pathEndsWith(expression, false);
     }
 
     /**
@@ -181,7 +201,7 @@ public class StaxUnmarshallerContext {
 
 
         return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+                && pathEndsWith(expression, true));
     }
 
     /**
@@ -285,21 +305,44 @@ public class StaxUnmarshallerContext {
 
         if (event.isEndElement()) {
             stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
+            elementPathLength = parentPathLengths[--depth];
+            path.setLength(elementPathLength);
         } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
+            if (depth == parentPathLengths.length) {
+                parentPathLengths = Arrays.copyOf(parentPathLengths, depth * 2);
+            }
+            final String name = event.asStartElement().getName().getLocalPart();
+            stack.push(name);
+            parentPathLengths[depth++] = elementPathLength;
+            path.setLength(elementPathLength);
+            path.append('/').append(name);
+            elementPathLength = path.length();
         } else if (event.isAttribute()) {
             Attribute attribute = (Attribute)event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+            path.setLength(elementPathLength);
+            path.append("/@").append(attribute.getName().getLocalPart());
+        }
+    }
+
+    /**
+     * Returns true if the current path ends with the given suffix, optionally
+     * preceded by a '/', without creating any intermediate string.
+     */
+    private boolean pathEndsWith(String suffix, boolean precededBySlash) {
+        int start = path.length() - suffix.length();
+        if (precededBySlash) {
+            if (start < 1 || path.charAt(start - 1) != '/') {
+                return false;
+            }
+        } else if (start < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (path.charAt(start + i) != suffix.charAt(i)) {
+                return false;
             }
-            stackString += "/@" + attribute.getName().getLocalPart();
         }
+        return true;
     }
 
 }
@@ -91,6 +91,10 @@ public class AWSRequestMetrics {
          * Snapshot of currently consumed retry capacity.
          */
         RetryCapacityConsumed,
+        /**
+         * Snapshot of retry capacity available for the endpoint of the request.
+         */
+        RetryCapacityAvailable,
         /**
          * Number of retries that were not attempted due to retry throttling.
          */
@@ -116,6 +120,13 @@ public class AWSRequestMetrics {
          */
         HttpSocketReadTime,
 
+        /**
+         * Time taken by the http client library to establish a new connection
+         * to AWS, including the TLS handshake for secure connections. Absent
+         * when the request was served from a pooled connection.
+         */
+        HttpClientConnectTime,
+
         /**
          * The number of idle persistent connections.
          * <p>
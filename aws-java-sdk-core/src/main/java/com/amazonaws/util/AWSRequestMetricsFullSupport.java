@@ -43,8 +43,20 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
     /* Stores some key value pairs. */
     private final Map<String, List<Object>> properties = new HashMap<String, List<Object>>();
     
-    /* A map to store events that are being profiled. */
-    private final Map<String, TimingInfo> eventsBeingProfiled = new HashMap<String, TimingInfo>();
+    /* Predefined fields by name, so events started by name share the slots of their field. */
+    private static final Map<String, Field> FIELDS_BY_NAME = new HashMap<String, Field>();
+
+    static {
+        for (Field field : Field.values()) {
+            FIELDS_BY_NAME.put(field.name(), field);
+        }
+    }
+
+    /* Events of the predefined fields that are being profiled, indexed by ordinal. */
+    private final TimingInfo[] fieldEventsBeingProfiled = new TimingInfo[FIELDS_BY_NAME.size()];
+
+    /* A map to store the other events that are being profiled, created on first use. */
+    private Map<String, TimingInfo> eventsBeingProfiled;
     /* Latency Logger */
     private static final Log latencyLogger = LogFactory.getLog("com.amazonaws.latency");
     private static final Object KEY_VALUE_SEPARATOR = "=";
@@ -81,6 +93,14 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     @Override
     public void startEvent(String eventName) {
+        Field field = FIELDS_BY_NAME.get(eventName);
+        if (field != null) {
+            startEvent(field);
+            return;
+        }
+        if (eventsBeingProfiled == null) {
+            eventsBeingProfiled = new HashMap<String, TimingInfo>();
+        }
         /* This will overwrite past events */
         eventsBeingProfiled.put // ignoring the wall clock time
             (eventName, TimingInfo.startTimingFullSupport(System.nanoTime()));
@@ -88,7 +108,13 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public void startEvent(MetricType f) {
-        startEvent(f.name());
+        if (f instanceof Field) {
+            /* This will overwrite past events */
+            fieldEventsBeingProfiled[((Field) f).ordinal()] = // ignoring the wall clock time
+                TimingInfo.startTimingFullSupport(System.nanoTime());
+        } else {
+            startEvent(f.name());
+        }
     }
 
     /**
@@ -101,7 +127,24 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     @Override
     public void endEvent(String eventName) {
-        TimingInfo event = eventsBeingProfiled.get(eventName);
+        Field field = FIELDS_BY_NAME.get(eventName);
+        if (field != null) {
+            endEvent(field);
+            return;
+        }
+        endEvent(eventName, eventsBeingProfiled == null ? null : eventsBeingProfiled.get(eventName));
+    }
+
+    @Override
+    public void endEvent(MetricType f) {
+        if (f instanceof Field) {
+            endEvent(f.name(), fieldEventsBeingProfiled[((Field) f).ordinal()]);
+        } else {
+            endEvent(f.name());
+        }
+    }
+
+    private void endEvent(String eventName, TimingInfo event) {
         /* Somebody tried to end an event that was not started. */
         if (event == null) {
             LogFactory.getLog(getClass()).warn
@@ -116,11 +159,6 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
                 event.getEndTimeNano()));
     }
 
-    @Override
-    public void endEvent(MetricType f) {
-        endEvent(f.name());
-    }
-
     /**
      * Add 1 to an existing count for a given event. If the count for that event
      * does not exist, then it creates one and initializes it to 1.
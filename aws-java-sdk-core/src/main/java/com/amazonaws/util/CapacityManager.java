@@ -14,17 +14,17 @@
  */
 package com.amazonaws.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Manages capacity of a finite resource.  Capacity can be acquired and
- * released.
+ * released.  All operations are lock free.
  */
 public class CapacityManager {
 
-    private volatile int availableCapacity;
+    private final AtomicInteger availableCapacity;
     private final int maxCapacity;
 
-    private final Object lock = new Object();
-
     /**
      * Creates a CapacityManager.
      *
@@ -35,7 +35,7 @@ public class CapacityManager {
      */
     public CapacityManager(final int maxCapacity) {
         this.maxCapacity = maxCapacity;
-        this.availableCapacity = maxCapacity;
+        this.availableCapacity = new AtomicInteger(maxCapacity);
     }
 
     /**
@@ -61,17 +61,18 @@ public class CapacityManager {
             throw new IllegalArgumentException("capacity to acquire cannot be negative");
         }
 
-        if (availableCapacity < 0) {
+        if (maxCapacity < 0) {
             return true;
         }
 
-        synchronized (lock) {
-            if (availableCapacity - capacity >= 0) {
-                availableCapacity -= capacity;
-                return true;
-            } else {
+        while (true) {
+            final int available = availableCapacity.get();
+            if (available - capacity < 0) {
                 return false;
             }
+            if (availableCapacity.compareAndSet(available, available - capacity)) {
+                return true;
+            }
         }
     }
 
@@ -95,11 +96,19 @@ public class CapacityManager {
             throw new IllegalArgumentException("capacity to release cannot be negative");
         }
 
-        // in the common 'good' case where we have our full capacity available we can
-        // short circuit going any further and avoid unnecessary locking.
-        if (availableCapacity >= 0 && availableCapacity != maxCapacity) {
-            synchronized (lock) {
-                availableCapacity = Math.min((availableCapacity + capacity), maxCapacity);
+        if (maxCapacity < 0) {
+            return;
+        }
+
+        while (true) {
+            final int available = availableCapacity.get();
+            // in the common 'good' case where we have our full capacity available we can
+            // short circuit going any further and avoid an unnecessary write.
+            if (available == maxCapacity) {
+                return;
+            }
+            if (availableCapacity.compareAndSet(available, Math.min(available + capacity, maxCapacity))) {
+                return;
             }
         }
     }
@@ -110,7 +119,7 @@ public class CapacityManager {
      * @return consumed capacity
      */
     public int consumedCapacity() {
-        return (availableCapacity < 0) ? 0 : (maxCapacity - availableCapacity);
+        return (maxCapacity < 0) ? 0 : (maxCapacity - availableCapacity.get());
     }
 
     /**
@@ -119,6 +128,15 @@ public class CapacityManager {
      * @return available capacity
      */
     public int availableCapacity() {
-        return availableCapacity;
+        return availableCapacity.get();
+    }
+
+    /**
+     * Returns the maximum capacity, or a negative value in passthrough mode.
+     *
+     * @return maximum capacity
+     */
+    public int maxCapacity() {
+        return maxCapacity;
     }
 }
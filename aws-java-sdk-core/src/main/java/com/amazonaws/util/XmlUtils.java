@@ -17,6 +17,8 @@ package com.amazonaws.util;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.xml.stream.XMLInputFactory;
+
 import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -25,6 +27,25 @@ import org.xml.sax.helpers.XMLReaderFactory;
 
 public class XmlUtils {
 
+    /**
+     * XMLInputFactory is not thread safe, so each thread gets its own instance
+     * rather than all of them contending on a shared one.
+     */
+    private static final ThreadLocal<XMLInputFactory> xmlInputFactory =
+            new ThreadLocal<XMLInputFactory>() {
+                @Override
+                protected XMLInputFactory initialValue() {
+                    return XMLInputFactory.newInstance();
+                }
+            };
+
+    /**
+     * Returns the XMLInputFactory of the current thread.
+     */
+    public static XMLInputFactory getXmlInputFactory() {
+        return xmlInputFactory.get();
+    }
+
     public static XMLReader parse(InputStream in, ContentHandler handler)
             throws SAXException, IOException {
 
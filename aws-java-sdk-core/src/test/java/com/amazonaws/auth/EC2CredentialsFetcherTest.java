@@ -149,6 +149,64 @@ public class EC2CredentialsFetcherTest {
         }
     }
 
+    /**
+     * Tests that credentials due for a refresh keep being served while they are
+     * reloaded in the background.
+     */
+    @Test
+    public void testAsyncRefreshServesCurrentCredentialsWhileRefreshing() throws Exception {
+        TestCredentialsProvider credentialsProvider = new TestCredentialsProvider(true);
+
+        // No credentials yet, the first call waits for them
+        stubForSuccessResonseWithCustomExpirationDate(200, DateUtils.formatISO8601Date(new Date(System.currentTimeMillis() + ONE_MINUTE * 14)));
+        assertEquals("ACCESS_KEY_ID", credentialsProvider.getCredentials().getAWSAccessKeyId());
+        assertTrue(credentialsProvider.needsToLoadCredentials());
+
+        stubForSuccessResponseWithCustomBody(200, "{\"AccessKeyId\":\"NEW_ACCESS_KEY_ID\",\"SecretAccessKey\":\"NEW_SECRET_ACCESS_KEY\","
+                + "\"Expiration\":\"" + DateUtils.formatISO8601Date(new Date(System.currentTimeMillis() + ONE_MINUTE * 60 * 24)) + "\"}");
+        // The credentials due for a refresh are returned while the new ones load
+        assertEquals("ACCESS_KEY_ID", credentialsProvider.getCredentials().getAWSAccessKeyId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (credentialsProvider.needsToLoadCredentials() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("NEW_ACCESS_KEY_ID", credentialsProvider.getCredentials().getAWSAccessKeyId());
+    }
+
+    /**
+     * Tests that credentials about to expire are not served while refreshing,
+     * the caller waits for the new credentials instead.
+     */
+    @Test
+    public void testAsyncRefreshWaitsForCredentialsAboutToExpire() {
+        TestCredentialsProvider credentialsProvider = new TestCredentialsProvider(true);
+
+        stubForSuccessResonseWithCustomExpirationDate(200, DateUtils.formatISO8601Date(new Date(System.currentTimeMillis() + ONE_MINUTE / 2)));
+        credentialsProvider.getCredentials();
+
+        stubForSuccessResponseWithCustomBody(200, successResponse);
+        AWSSessionCredentials credentials = (AWSSessionCredentials) credentialsProvider.getCredentials();
+        assertEquals("TOKEN_TOKEN_TOKEN", credentials.getSessionToken());
+    }
+
+    /**
+     * Tests that loadCredentials refreshes on the calling thread in async refresh
+     * mode, so that a caller refreshing on a schedule of its own sees the result.
+     */
+    @Test
+    public void testLoadCredentialsRefreshesSynchronouslyInAsyncMode() {
+        TestCredentialsProvider credentialsProvider = new TestCredentialsProvider(true);
+
+        stubForSuccessResonseWithCustomExpirationDate(200, DateUtils.formatISO8601Date(new Date(System.currentTimeMillis() + ONE_MINUTE * 14)));
+        credentialsProvider.getCredentials();
+
+        stubForSuccessResponseWithCustomBody(200, successResponse);
+        AWSSessionCredentials credentials = (AWSSessionCredentials) credentialsProvider.loadCredentials();
+        assertEquals("TOKEN_TOKEN_TOKEN", credentials.getSessionToken());
+        assertFalse(credentialsProvider.needsToLoadCredentials());
+    }
+
     private void stubForSuccessResponseWithCustomBody(int statusCode, String body) {
         stubFor(
                 get(urlPathEqualTo(CREDENTIALS_PATH))
@@ -183,7 +241,11 @@ public class EC2CredentialsFetcherTest {
 
     private static class TestCredentialsProvider extends EC2CredentialsFetcher {
         public TestCredentialsProvider() {
-            super(new TestCredentialsEndpointProvider("http://localhost:" + mockServer.port()));
+            this(false);
+        }
+
+        public TestCredentialsProvider(boolean asyncRefresh) {
+            super(new TestCredentialsEndpointProvider("http://localhost:" + mockServer.port()), asyncRefresh);
         }
 
         public void setLastInstanceProfileCheck(Date lastInstanceProfileCheck) {
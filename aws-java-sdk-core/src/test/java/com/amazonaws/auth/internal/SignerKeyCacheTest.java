@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SignerKeyCacheTest {
+
+    private static final byte[] SIGNING_KEY = { 1, 2, 3 };
+    private static final long DAY = 17000;
+
+    @Test
+    public void storedKey_IsReturnedForSameDayOnly() {
+        SignerKeyCache cache = new SignerKeyCache(10);
+        cache.put("secret", "us-east-1", "s3", DAY, SIGNING_KEY);
+
+        assertArrayEquals(SIGNING_KEY, cache.get("secret", "us-east-1", "s3", DAY));
+        assertNull(cache.get("secret", "us-east-1", "s3", DAY + 1));
+        assertNull(cache.get("secret", "us-west-2", "s3", DAY));
+        assertNull(cache.get("other", "us-east-1", "s3", DAY));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void fullCache_EvictsEarliestEntries() {
+        SignerKeyCache cache = new SignerKeyCache(2);
+        cache.put("secret", "region-1", "s3", DAY, SIGNING_KEY);
+        cache.put("secret", "region-2", "s3", DAY, SIGNING_KEY);
+        cache.put("secret", "region-3", "s3", DAY, SIGNING_KEY);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("secret", "region-1", "s3", DAY));
+        assertArrayEquals(SIGNING_KEY, cache.get("secret", "region-3", "s3", DAY));
+    }
+
+    @Test
+    public void newDay_EvictsKeysOfEarlierDays() {
+        SignerKeyCache cache = new SignerKeyCache(10);
+        cache.put("secret", "region-1", "s3", DAY, SIGNING_KEY);
+        cache.put("secret", "region-2", "s3", DAY, SIGNING_KEY);
+        cache.put("secret", "region-1", "s3", DAY + 1, SIGNING_KEY);
+
+        assertEquals(1, cache.size());
+        assertArrayEquals(SIGNING_KEY, cache.get("secret", "region-1", "s3", DAY + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSize_ThrowsException() {
+        new SignerKeyCache(0);
+    }
+}
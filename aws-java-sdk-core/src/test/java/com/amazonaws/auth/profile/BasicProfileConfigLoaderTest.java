@@ -22,9 +22,14 @@ import com.amazonaws.auth.profile.internal.BasicProfileConfigLoader;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 
@@ -90,6 +95,54 @@ public class BasicProfileConfigLoaderTest {
         assertThat(profile.getAwsAccessIdKey(), isEmptyString());
     }
 
+    @Test
+    public void unchangedFile_LoadedOnce() throws IOException {
+        File file = writeProfile("[default]\naws_access_key_id=key\naws_secret_access_key=secret\n",
+                                 System.currentTimeMillis() - 60000);
+        AllProfiles profiles = loadProfiles(file);
+        assertSame(profiles, loadProfiles(file));
+    }
+
+    @Test
+    public void changedFile_Reloaded() throws IOException {
+        long lastModified = System.currentTimeMillis() - 60000;
+        File file = writeProfile("[default]\naws_access_key_id=key\naws_secret_access_key=secret\n",
+                                 lastModified);
+        AllProfiles profiles = loadProfiles(file);
+
+        // Same length, only the modification time tells the files apart
+        rewriteProfile(file, "[default]\naws_access_key_id=new\naws_secret_access_key=secret\n",
+                       lastModified + 10000);
+        AllProfiles reloaded = loadProfiles(file);
+        assertNotSame(profiles, reloaded);
+        assertEquals("new", reloaded.getProfile("default").getAwsAccessIdKey());
+    }
+
+    @Test
+    public void recentlyModifiedFile_NotCached() throws IOException {
+        File file = writeProfile("[default]\naws_access_key_id=key\naws_secret_access_key=secret\n",
+                                 System.currentTimeMillis());
+        AllProfiles profiles = loadProfiles(file);
+        assertNotSame(profiles, loadProfiles(file));
+    }
+
+    private static File writeProfile(String content, long lastModified) throws IOException {
+        File file = File.createTempFile("BasicProfileConfigLoaderTest", ".tst");
+        file.deleteOnExit();
+        rewriteProfile(file, content, lastModified);
+        return file;
+    }
+
+    private static void rewriteProfile(File file, String content, long lastModified) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        file.setLastModified(lastModified);
+    }
+
     public AllProfiles loadProfiles(File file) {
         return BasicProfileConfigLoader.INSTANCE.loadProfiles(file);
     }
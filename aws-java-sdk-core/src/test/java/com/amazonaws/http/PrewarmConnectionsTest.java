@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URI;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.ClientConfiguration;
+
+import utils.http.WireMockTestBase;
+
+public class PrewarmConnectionsTest extends WireMockTestBase {
+
+    private AmazonHttpClient httpClient;
+
+    private URI endpoint;
+
+    @Before
+    public void setup() {
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withMaxConnections(5));
+        endpoint = URI.create("http://localhost:" + mockServer.port());
+    }
+
+    @After
+    public void tearDown() {
+        httpClient.shutdown();
+    }
+
+    @Test
+    public void prewarm_EstablishesRequestedConnections() {
+        assertEquals(3, httpClient.prewarmConnections(endpoint, 3));
+    }
+
+    @Test
+    public void prewarmAgain_ReusesPooledConnections() {
+        httpClient.prewarmConnections(endpoint, 3);
+        assertEquals(1, httpClient.prewarmConnections(endpoint, 4));
+    }
+
+    @Test
+    public void prewarm_IsCappedByMaxConnections() {
+        assertEquals(5, httpClient.prewarmConnections(endpoint, 10));
+    }
+}
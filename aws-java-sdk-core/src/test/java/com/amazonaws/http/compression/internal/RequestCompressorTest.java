@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.compression.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.http.HttpMethodName;
+import com.amazonaws.http.compression.ThresholdRequestCompressionPolicy;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+
+public class RequestCompressorTest {
+
+    private static final int THRESHOLD = 100;
+
+    private final ThresholdRequestCompressionPolicy policy = new ThresholdRequestCompressionPolicy(THRESHOLD);
+
+    @Test
+    public void payloadAboveThreshold_IsCompressed() throws Exception {
+        byte[] payload = repeat("{\"MetricName\":\"Latency\",\"Value\":1.0}", 50);
+        Request<?> request = newRequest(new LargeRequest(), payload);
+
+        assertTrue(RequestCompressor.compress(request, policy));
+        assertEquals("gzip", request.getHeaders().get("Content-Encoding"));
+        byte[] compressed = IOUtils.toByteArray(request.getContent());
+        assertEquals(Integer.toString(compressed.length), request.getHeaders().get("Content-Length"));
+        assertTrue(compressed.length < payload.length);
+        assertArrayEquals(payload, gunzip(compressed));
+    }
+
+    @Test
+    public void payloadBelowThreshold_IsLeftAlone() throws Exception {
+        byte[] payload = repeat("x", THRESHOLD - 1);
+        Request<?> request = newRequest(new LargeRequest(), payload);
+
+        assertFalse(RequestCompressor.compress(request, policy));
+        assertNull(request.getHeaders().get("Content-Encoding"));
+        assertArrayEquals(payload, IOUtils.toByteArray(request.getContent()));
+    }
+
+    @Test
+    public void operationThreshold_OverridesDefault() throws Exception {
+        policy.withOperationThreshold(SmallRequest.class, ThresholdRequestCompressionPolicy.DISABLED);
+        byte[] payload = repeat("x", THRESHOLD * 10);
+
+        assertFalse(RequestCompressor.compress(newRequest(new SmallRequest(), payload), policy));
+        assertTrue(RequestCompressor.compress(newRequest(new LargeRequest(), payload), policy));
+    }
+
+    @Test
+    public void existingContentEncoding_IsNotCompressedTwice() {
+        Request<?> request = newRequest(new LargeRequest(), repeat("x", THRESHOLD * 10));
+        request.addHeader("Content-Encoding", "identity");
+
+        assertFalse(RequestCompressor.compress(request, policy));
+    }
+
+    @Test
+    public void queryParameters_AreMovedIntoCompressedBody() throws Exception {
+        Request<?> request = new DefaultRequest<Void>(new LargeRequest(), "test");
+        request.setHttpMethod(HttpMethodName.POST);
+        request.addParameter("Action", "PutMetricData");
+        request.addParameter("MetricData.member.1.MetricName", new String(repeat("a b", 100), StringUtils.UTF8));
+
+        assertTrue(RequestCompressor.compress(request, policy));
+        assertTrue(request.getParameters().isEmpty());
+        String body = new String(gunzip(IOUtils.toByteArray(request.getContent())), StringUtils.UTF8);
+        assertTrue(body, body.startsWith("Action=PutMetricData&MetricData.member.1.MetricName=a+ba+b"));
+    }
+
+    @Test
+    public void callerSuppliedStream_IsNotCompressed() {
+        byte[] payload = repeat("x", THRESHOLD * 10);
+        Request<?> request = newRequest(new LargeRequest(), payload);
+        request.setContent(new BufferedInputStream(new ByteArrayInputStream(payload)));
+
+        assertFalse(RequestCompressor.compress(request, policy));
+    }
+
+    @Test
+    public void binaryContentType_IsNotCompressed() {
+        Request<?> request = newRequest(new LargeRequest(), repeat("x", THRESHOLD * 10));
+        request.addHeader("Content-Type", "application/octet-stream");
+
+        assertFalse(RequestCompressor.compress(request, policy));
+    }
+
+    @Test
+    public void payloadWithChecksumHeader_IsNotCompressed() {
+        Request<?> request = newRequest(new LargeRequest(), repeat("x", THRESHOLD * 10));
+        request.addHeader("Content-MD5", "1B2M2Y8AsgTpgAmY7PhCfg==");
+
+        assertFalse(RequestCompressor.compress(request, policy));
+    }
+
+    @Test
+    public void nullPolicy_NeverCompresses() {
+        assertFalse(RequestCompressor.compress(newRequest(new LargeRequest(), repeat("x", 1000)), null));
+    }
+
+    private static Request<?> newRequest(AmazonWebServiceRequest originalRequest, byte[] payload) {
+        Request<?> request = new DefaultRequest<Void>(originalRequest, "test");
+        request.setHttpMethod(HttpMethodName.POST);
+        request.setContent(new ByteArrayInputStream(payload));
+        request.addHeader("Content-Length", Integer.toString(payload.length));
+        request.addHeader("Content-Type", "application/x-amz-json-1.1");
+        return request;
+    }
+
+    private static byte[] repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString().getBytes(StringUtils.UTF8);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+        try {
+            return IOUtils.toByteArray(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static class LargeRequest extends AmazonWebServiceRequest {
+    }
+
+    private static class SmallRequest extends AmazonWebServiceRequest {
+    }
+}
@@ -14,11 +14,16 @@
  */
 package com.amazonaws.http.conn;
 
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsFullSupport;
 import org.apache.http.HttpClientConnection;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -79,4 +84,23 @@ public class ClientConnectionManagerFactoryTest {
         HttpClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(noop);
         ClientConnectionManagerFactory.wrap(wrapped);
     }
+
+    @Test
+    public void connectCapturesConnectTimeInRequestMetrics() throws IOException {
+        HttpClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(noop);
+        AWSRequestMetrics metrics = new AWSRequestMetricsFullSupport();
+        HttpContext context = new BasicHttpContext();
+        context.setAttribute(AWSRequestMetrics.class.getSimpleName(), metrics);
+
+        wrapped.connect(null, null, 0, context);
+
+        assertEquals(1, metrics.getTimingInfo()
+                .getAllSubMeasurements(Field.HttpClientConnectTime.name()).size());
+    }
+
+    @Test
+    public void connectWithoutRequestMetrics() throws IOException {
+        HttpClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(noop);
+        wrapped.connect(null, null, 0, new BasicHttpContext());
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+    private static final long IDLE_TIMEOUT_MILLIS = 200;
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        // Small wheel so that long timeouts need several rounds
+        timer = new HashedWheelTimer("HashedWheelTimerTest", 5, 8, IDLE_TIMEOUT_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void scheduledTask_RunsAfterDelay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.schedule(countDown(latch), 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void canceledTask_NeverRuns() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.schedule(increment(runs), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeouts());
+        Thread.sleep(200);
+        assertEquals(0, runs.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void manyTasks_AllRunExceptCanceledOnes() throws InterruptedException {
+        final int numTasks = 1000;
+        final CountDownLatch latch = new CountDownLatch(numTasks / 2);
+        final AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < numTasks; i++) {
+            final boolean keep = i % 2 == 0;
+            Runnable task = keep ? countDown(latch) : increment(runs);
+            HashedWheelTimer.Timeout timeout = timer.schedule(task, i % 150, TimeUnit.MILLISECONDS);
+            if (!keep) {
+                timeout.cancel();
+            }
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void workerThread_StopsWhenIdleAndRestartsOnDemand() throws InterruptedException {
+        assertFalse(timer.isWorkerRunning());
+        CountDownLatch first = new CountDownLatch(1);
+        timer.schedule(countDown(first), 10, TimeUnit.MILLISECONDS);
+        assertTrue(timer.isWorkerRunning());
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        Thread.sleep(IDLE_TIMEOUT_MILLIS + 500);
+        assertFalse(timer.isWorkerRunning());
+
+        CountDownLatch second = new CountDownLatch(1);
+        timer.schedule(countDown(second), 10, TimeUnit.MILLISECONDS);
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failingTask_DoesNotStopTimer() throws InterruptedException {
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("Expected failure");
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(countDown(latch), 50, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleAfterShutdown_ThrowsException() {
+        timer.shutdown();
+        timer.schedule(increment(new AtomicInteger()), 10, TimeUnit.MILLISECONDS);
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+
+    private static Runnable increment(final AtomicInteger counter) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+    }
+}
@@ -24,13 +24,11 @@ import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.createRawHttpClientSpy;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.execute;
 import static com.amazonaws.http.timers.TimeoutTestConstants.CLIENT_EXECUTION_TIMEOUT;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import com.amazonaws.http.response.ErrorDuringUnmarshallingResponseHandler;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -78,13 +76,11 @@ public class MockedClientTests {
         }
 
         assertResponseIsBuffered(responseProxy);
-        ScheduledThreadPoolExecutor requestTimerExecutor = httpClient.getClientExecutionTimer().getExecutor();
-        assertTimerNeverTriggered(requestTimerExecutor);
-        assertCanceledTasksRemoved(requestTimerExecutor);
-        // Core threads should be spun up on demand. Since only one task was submitted only one
-        // thread should exist
-        assertEquals(1, requestTimerExecutor.getPoolSize());
-        assertCoreThreadsShutDownAfterBeingIdle(requestTimerExecutor);
+        assertTimerNeverTriggered(httpClient.getClientExecutionTimer());
+        assertCanceledTasksRemoved(httpClient.getClientExecutionTimer().getTimer());
+        // The timer thread is spun up on demand and should exit once no timeouts are pending
+        assertTrue(httpClient.getClientExecutionTimer().getTimer().isWorkerRunning());
+        assertCoreThreadsShutDownAfterBeingIdle(httpClient.getClientExecutionTimer().getTimer());
     }
 
     @Test
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    public void emptyHistogram_ReportsZeros() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum(), 0);
+        assertEquals(0, histogram.getMin(), 0);
+        assertEquals(0, histogram.getMax(), 0);
+        assertEquals(0, histogram.getValueAtPercentile(99), 0);
+    }
+
+    @Test
+    public void recordedValues_TrackExactStatistics() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(Double.NaN);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum(), 0);
+        assertEquals(1, histogram.getMin(), 0);
+        assertEquals(1000, histogram.getMax(), 0);
+    }
+
+    @Test
+    public void percentiles_AreWithinBucketPrecision() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i / 10.0);
+        }
+        assertWithin(500, histogram.getValueAtPercentile(50));
+        assertWithin(990, histogram.getValueAtPercentile(99));
+        assertEquals(0.1, histogram.getValueAtPercentile(0), 0);
+        assertEquals(1000, histogram.getValueAtPercentile(100), 0);
+    }
+
+    @Test
+    public void extremeValues_AreClampedToOuterBuckets() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(1e15);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(-5, histogram.getMin(), 0);
+        assertEquals(1e15, histogram.getMax(), 0);
+        assertEquals(1e15, histogram.getValueAtPercentile(100), 0);
+    }
+
+    @Test
+    public void bucketBounds_AreContiguous() {
+        for (int i = 1; i < 400; i++) {
+            double lower = LogLinearHistogram.bucketLowerBound(i);
+            assertEquals(i, LogLinearHistogram.bucketIndex(lower));
+            assertEquals(i - 1, LogLinearHistogram.bucketIndex(Math.nextAfter(lower, 0)));
+        }
+    }
+
+    @Test
+    public void concurrentRecording_LosesNoValues() throws InterruptedException {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        final int threads = 8;
+        final int perThread = 10000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < perThread; i++) {
+                            histogram.record(2);
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * perThread, histogram.getCount());
+        assertEquals(2.0 * threads * perThread, histogram.getSum(), 0);
+    }
+
+    private static void assertWithin(double expected, double actual) {
+        assertTrue("Expected about " + expected + " but was " + actual,
+                   Math.abs(actual - expected) <= expected * 0.125);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsFullSupport;
+import com.amazonaws.util.AWSServiceMetrics;
+
+public class MeterRegistryMetricCollectorTest {
+
+    private static final String SERVICE_NAME = "AmazonTest";
+    private static final String REQUEST_TYPE = TestRequest.class.getSimpleName();
+
+    private InMemoryMeterRegistry registry;
+    private MeterRegistryMetricCollector collector;
+
+    @Before
+    public void setup() {
+        registry = new InMemoryMeterRegistry();
+        collector = new MeterRegistryMetricCollector(registry);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullRegistry_ThrowsException() {
+        new MeterRegistryMetricCollector(null);
+    }
+
+    @Test
+    public void requestMetrics_RecordedAsMeters() {
+        AWSRequestMetricsFullSupport metrics = new AWSRequestMetricsFullSupport();
+        for (int i = 0; i < 3; i++) {
+            metrics.incrementCounter(Field.RequestCount);
+            metrics.startEvent(Field.RequestSigningTime);
+            metrics.endEvent(Field.RequestSigningTime);
+            metrics.startEvent(Field.HttpRequestTime);
+            metrics.endEvent(Field.HttpRequestTime);
+        }
+        metrics.setCounter(Field.HttpClientPoolPendingCount, 7);
+        metrics.addProperty(Field.ThrottleException, new AmazonServiceException("Throttled"));
+        metrics.getTimingInfo().endTiming();
+
+        DefaultRequest<TestRequest> request = new DefaultRequest<TestRequest>(new TestRequest(), SERVICE_NAME);
+        request.setAWSRequestMetrics(metrics);
+        collector.getRequestMetricCollector().collectMetrics(request, null);
+
+        assertEquals(1, histogram(SdkMeter.ClientExecuteTime, REQUEST_TYPE).getCount());
+        assertEquals(3, histogram(SdkMeter.SigningTime, REQUEST_TYPE).getCount());
+        assertEquals(3, histogram(SdkMeter.HttpRequestTime, REQUEST_TYPE).getCount());
+        assertEquals(7, histogram(SdkMeter.ConnectionPoolPending, REQUEST_TYPE).getMax(), 0);
+        assertEquals(2, histogram(SdkMeter.RetryCount, REQUEST_TYPE).getMax(), 0);
+        assertEquals(1, histogram(SdkMeter.ThrottleCount, REQUEST_TYPE).getMax(), 0);
+        assertNull(histogram(SdkMeter.UnmarshallingTime, REQUEST_TYPE));
+    }
+
+    @Test
+    public void disabledRequestMetrics_NotRecorded() {
+        DefaultRequest<TestRequest> request = new DefaultRequest<TestRequest>(new TestRequest(), SERVICE_NAME);
+        collector.getRequestMetricCollector().collectMetrics(request, null);
+
+        assertTrue(registry.getHistograms().isEmpty());
+    }
+
+    @Test
+    public void connectionLeaseLatency_RecordedPerService() {
+        ServiceLatencyProvider provider = new ServiceLatencyProvider(AWSServiceMetrics.HttpClientGetConnectionTime);
+        collector.getServiceMetricCollector().collectLatency(provider.endTiming());
+
+        LogLinearHistogram histogram = registry.getHistogram(SdkMeter.ConnectionLeaseTime,
+                AWSServiceMetrics.HttpClientGetConnectionTime.getServiceName(), null);
+        assertNotNull(histogram);
+        assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    public void histograms_NamedByServiceRequestTypeAndMeter() {
+        registry.record(SdkMeter.SigningTime, SERVICE_NAME, REQUEST_TYPE, 1.5);
+        registry.record(SdkMeter.SigningTime, SERVICE_NAME, REQUEST_TYPE, 2.5);
+        registry.record(SdkMeter.BytesSent, SERVICE_NAME, null, 1024);
+
+        assertEquals(2, registry.getHistograms().size());
+        assertEquals(2, registry.getHistograms().get("AmazonTest/TestRequest/SigningTime").getCount());
+        assertEquals(1024, registry.getHistograms().get("AmazonTest/BytesSent").getSum(), 0);
+
+        registry.clear();
+        assertTrue(registry.getHistograms().isEmpty());
+    }
+
+    private LogLinearHistogram histogram(SdkMeter meter, String requestType) {
+        return registry.getHistogram(meter, SERVICE_NAME, requestType);
+    }
+
+    private static class TestRequest extends AmazonWebServiceRequest {
+    }
+}
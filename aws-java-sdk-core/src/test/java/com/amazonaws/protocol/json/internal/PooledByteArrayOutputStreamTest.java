@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PooledByteArrayOutputStreamTest {
+
+    @Test
+    public void releasedBuffer_IsReusedByNextStream() {
+        PooledByteArrayOutputStream first = new PooledByteArrayOutputStream(16);
+        first.write(new byte[] { 1, 2, 3 }, 0, 3);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, first.toByteArray());
+        int pooledBefore = PooledByteArrayOutputStream.getPooledBufferCount();
+        first.release();
+        assertEquals(pooledBefore + 1, PooledByteArrayOutputStream.getPooledBufferCount());
+
+        PooledByteArrayOutputStream second = new PooledByteArrayOutputStream(16);
+        assertEquals(pooledBefore, PooledByteArrayOutputStream.getPooledBufferCount());
+        assertEquals(0, second.size());
+        second.write(9);
+        assertArrayEquals(new byte[] { 9 }, second.toByteArray());
+        second.release();
+    }
+
+    @Test
+    public void releaseTwice_ReturnsBufferOnce() {
+        PooledByteArrayOutputStream stream = new PooledByteArrayOutputStream(16);
+        int pooledBefore = PooledByteArrayOutputStream.getPooledBufferCount();
+        stream.release();
+        stream.release();
+        assertEquals(pooledBefore + 1, PooledByteArrayOutputStream.getPooledBufferCount());
+        assertEquals(0, stream.size());
+    }
+
+    @Test
+    public void largeBuffer_IsNotPooled() {
+        PooledByteArrayOutputStream stream = new PooledByteArrayOutputStream(16);
+        stream.write(new byte[2 * 1024 * 1024], 0, 2 * 1024 * 1024);
+        int pooledBefore = PooledByteArrayOutputStream.getPooledBufferCount();
+        stream.release();
+        assertEquals(pooledBefore, PooledByteArrayOutputStream.getPooledBufferCount());
+    }
+
+    @Test
+    public void pooledBufferTooSmall_NewBufferIsAllocated() {
+        new PooledByteArrayOutputStream(16).release();
+        PooledByteArrayOutputStream stream = new PooledByteArrayOutputStream(4096);
+        byte[] data = new byte[4096];
+        stream.write(data, 0, data.length);
+        assertTrue(stream.size() == 4096);
+        stream.release();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveRateLimiterTest {
+
+    private FakeClock clock;
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Before
+    public void setup() {
+        clock = new FakeClock();
+        rateLimiter = new AdaptiveRateLimiter(clock);
+    }
+
+    @Test
+    public void noThrottle_AcquireNeverWaits() throws InterruptedException {
+        sendSuccessfulRequests(10, 100);
+        assertFalse(rateLimiter.isEnabled());
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquire();
+        }
+        assertEquals(0, clock.sleptMillis);
+    }
+
+    @Test
+    public void throttle_CutsRateBelowMeasuredSendingRate() {
+        sendSuccessfulRequests(20, 100);
+        rateLimiter.onResponse(true);
+
+        assertTrue(rateLimiter.isEnabled());
+        double fillRate = rateLimiter.getFillRate();
+        assertTrue("Fill rate " + fillRate, fillRate > 10 && fillRate < 20);
+    }
+
+    @Test
+    public void repeatedThrottles_KeepLoweringRate() {
+        sendSuccessfulRequests(20, 100);
+        rateLimiter.onResponse(true);
+        double firstRate = rateLimiter.getFillRate();
+
+        sendSuccessfulRequests(1, 100);
+        rateLimiter.onResponse(true);
+
+        assertTrue(rateLimiter.getFillRate() < firstRate);
+    }
+
+    @Test
+    public void successesAfterThrottle_RampRateBackUp() {
+        sendSuccessfulRequests(20, 100);
+        rateLimiter.onResponse(true);
+        double throttledRate = rateLimiter.getFillRate();
+
+        sendSuccessfulRequests(20, 300);
+
+        assertTrue(rateLimiter.getFillRate() > throttledRate);
+    }
+
+    @Test
+    public void emptyBucket_AcquireWaitsForRefill() throws InterruptedException {
+        sendSuccessfulRequests(10, 100);
+        rateLimiter.onResponse(true);
+        double fillRate = rateLimiter.getFillRate();
+
+        int requests = 50;
+        for (int i = 0; i < requests; i++) {
+            rateLimiter.acquire();
+        }
+        // The bucket holds at most one second worth of tokens, the rest of the burst must wait
+        // for the bucket to refill
+        double expectedMillis = (requests - fillRate - 1) / fillRate * 1000;
+        assertTrue("Slept " + clock.sleptMillis + "ms", clock.sleptMillis >= expectedMillis);
+    }
+
+    private void sendSuccessfulRequests(int requestsPerSecond, int count) {
+        for (int i = 0; i < count; i++) {
+            clock.now += 1.0 / requestsPerSecond;
+            rateLimiter.onResponse(false);
+        }
+    }
+
+    private static class FakeClock implements AdaptiveRateLimiter.Clock {
+
+        private double now = 1000;
+        private long sleptMillis;
+
+        @Override
+        public double seconds() {
+            return now;
+        }
+
+        @Override
+        public void sleep(long millis) {
+            sleptMillis += millis;
+            now += millis / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EndpointRetryCapacityTest {
+
+    private static final String ENDPOINT_A = "https://a.amazonaws.com";
+    private static final String ENDPOINT_B = "https://b.amazonaws.com";
+
+    @Test
+    public void exhaustedEndpoint_DoesNotAffectOtherEndpoints() {
+        EndpointRetryCapacity capacity = new EndpointRetryCapacity(10);
+        assertTrue(capacity.acquire(ENDPOINT_A, 5));
+        assertTrue(capacity.acquire(ENDPOINT_A, 5));
+        assertFalse(capacity.acquire(ENDPOINT_A, 5));
+
+        assertEquals(0, capacity.availableCapacity(ENDPOINT_A));
+        assertEquals(10, capacity.consumedCapacity(ENDPOINT_A));
+        assertEquals(1, capacity.refusedRetries(ENDPOINT_A));
+
+        assertEquals(10, capacity.availableCapacity(ENDPOINT_B));
+        assertTrue(capacity.acquire(ENDPOINT_B, 5));
+        assertEquals(0, capacity.refusedRetries(ENDPOINT_B));
+    }
+
+    @Test
+    public void release_RestoresCapacityOfEndpoint() {
+        EndpointRetryCapacity capacity = new EndpointRetryCapacity(10);
+        capacity.acquire(ENDPOINT_A, 10);
+        capacity.release(ENDPOINT_A, 5);
+        assertEquals(5, capacity.availableCapacity(ENDPOINT_A));
+        capacity.release(ENDPOINT_A, 50);
+        assertEquals(10, capacity.availableCapacity(ENDPOINT_A));
+    }
+
+    @Test
+    public void refusals_AreCountedGloballyAndReported() {
+        EndpointRetryCapacity capacity = new EndpointRetryCapacity(0);
+        long before = EndpointRetryCapacity.getTotalRefusedRetries();
+        assertFalse(capacity.acquire(ENDPOINT_A, 5));
+        assertEquals(before + 1, EndpointRetryCapacity.getTotalRefusedRetries());
+        assertTrue(EndpointRetryCapacity.getEndpointCapacities().contains(ENDPOINT_A + ": 0/0, refused=1"));
+    }
+
+    @Test
+    public void negativeCapacity_NeverRefuses() {
+        EndpointRetryCapacity capacity = new EndpointRetryCapacity(-1);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(capacity.acquire(ENDPOINT_A, 5));
+        }
+        assertEquals(-1, capacity.availableCapacity(ENDPOINT_A));
+        assertEquals(0, capacity.consumedCapacity(ENDPOINT_A));
+        assertEquals(0, capacity.refusedRetries(ENDPOINT_A));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.amazonaws.transform.SimpleTypeJsonUnmarshallers.BooleanJsonUnmarshaller;
+import com.amazonaws.transform.SimpleTypeJsonUnmarshallers.DoubleJsonUnmarshaller;
+import com.amazonaws.transform.SimpleTypeJsonUnmarshallers.IntegerJsonUnmarshaller;
+import com.amazonaws.transform.SimpleTypeJsonUnmarshallers.LongJsonUnmarshaller;
+import com.amazonaws.util.StringUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+
+public class JsonUnmarshallerContextImplTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    public void nestedStructures_TrackDepthAndParentElements() throws Exception {
+        JsonUnmarshallerContext context = newContext("{\"A\":{\"B\":[{\"C\":{\"D\":\"E\"}}]}}");
+        advanceToField(context, "D");
+
+        assertEquals(4, context.getCurrentDepth());
+        assertEquals("/A/B/C/D", context.toString());
+        assertTrue(context.testExpression("D", 4));
+        assertFalse(context.testExpression("C", 4));
+
+        context.nextToken();
+        assertEquals("E", context.readText());
+        assertEquals("D", context.getCurrentParentElement());
+
+        assertEquals(JsonToken.END_OBJECT, context.nextToken());
+        assertEquals("C", context.getLastParsedParentElement());
+        assertEquals(2, context.getCurrentDepth());
+        assertTrue(context.testExpression("B", 2));
+
+        context.nextToken();
+        assertEquals(JsonToken.END_ARRAY, context.nextToken());
+        assertEquals("B", context.getLastParsedParentElement());
+        assertEquals("/A", context.toString());
+    }
+
+    @Test
+    public void deeplyNestedDocument_GrowsStack() throws Exception {
+        StringBuilder json = new StringBuilder();
+        int depth = 100;
+        for (int i = 0; i < depth; i++) {
+            json.append("{\"f").append(i).append("\":");
+        }
+        json.append("1");
+        for (int i = 0; i < depth; i++) {
+            json.append('}');
+        }
+        JsonUnmarshallerContext context = newContext(json.toString());
+        advanceToField(context, "f" + (depth - 1));
+        assertEquals(depth, context.getCurrentDepth());
+
+        while (context.nextToken() != null) {
+        }
+        assertEquals("/", context.toString());
+        assertEquals(0, context.getCurrentDepth());
+    }
+
+    @Test
+    public void scalarTokens_AreReadDirectlyFromParser() throws Exception {
+        JsonUnmarshallerContext context = newContext(
+                "{\"i\":42,\"l\":12345678901,\"d\":1.5e3,\"di\":7,\"b\":true,\"s\":\"17\"}");
+
+        advanceToField(context, "i");
+        context.nextToken();
+        assertEquals(Integer.valueOf(42), IntegerJsonUnmarshaller.getInstance().unmarshall(context));
+
+        advanceToField(context, "l");
+        context.nextToken();
+        assertEquals(Long.valueOf(12345678901L), LongJsonUnmarshaller.getInstance().unmarshall(context));
+
+        advanceToField(context, "d");
+        context.nextToken();
+        assertEquals(Double.valueOf(1500), DoubleJsonUnmarshaller.getInstance().unmarshall(context));
+
+        advanceToField(context, "di");
+        context.nextToken();
+        assertEquals(Double.valueOf(7), DoubleJsonUnmarshaller.getInstance().unmarshall(context));
+
+        advanceToField(context, "b");
+        context.nextToken();
+        assertEquals(Boolean.TRUE, BooleanJsonUnmarshaller.getInstance().unmarshall(context));
+
+        // Numbers sent as strings still go through readText
+        advanceToField(context, "s");
+        context.nextToken();
+        assertEquals(Integer.valueOf(17), IntegerJsonUnmarshaller.getInstance().unmarshall(context));
+    }
+
+    @Test
+    public void nullToken_UnmarshallsToNull() throws Exception {
+        JsonUnmarshallerContext context = newContext("{\"i\":null}");
+        advanceToField(context, "i");
+        context.nextToken();
+        assertNull(IntegerJsonUnmarshaller.getInstance().unmarshall(context));
+        assertNull(BooleanJsonUnmarshaller.getInstance().unmarshall(context));
+    }
+
+    private static JsonUnmarshallerContext newContext(String json) throws Exception {
+        return new JsonUnmarshallerContextImpl(
+                JSON_FACTORY.createParser(new ByteArrayInputStream(json.getBytes(StringUtils.UTF8))),
+                Collections.<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>>emptyMap(),
+                null);
+    }
+
+    private static void advanceToField(JsonUnmarshallerContext context, String field) throws Exception {
+        JsonToken token;
+        while ((token = context.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && field.equals(context.readText())) {
+                return;
+            }
+        }
+        throw new AssertionError("Field " + field + " not found");
+    }
+}
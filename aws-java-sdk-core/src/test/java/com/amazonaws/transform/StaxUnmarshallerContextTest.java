@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import javax.xml.stream.events.XMLEvent;
+
+import org.junit.Test;
+
+import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.XmlUtils;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final String XML =
+            "<Response><Items><Item id=\"1\"><Name>foo</Name></Item></Items>"
+            + "<ResponseMetadata><RequestId>abc</RequestId></ResponseMetadata></Response>";
+
+    @Test
+    public void elementPath_TracksDepthAndExpressions() throws Exception {
+        StaxUnmarshallerContext context = newContext();
+        assertTrue(context.isStartOfDocument());
+
+        advanceTo(context, "Name");
+        assertEquals(4, context.getCurrentDepth());
+        assertTrue(context.testExpression("Name"));
+        assertTrue(context.testExpression("Item/Name"));
+        assertTrue(context.testExpression("Item/Name", 3));
+        assertFalse(context.testExpression("Item/Name", 2));
+        assertFalse(context.testExpression("tem/Name", 3));
+        assertEquals("foo", context.readText());
+    }
+
+    @Test
+    public void attribute_IsMatchedUntilNextElement() throws Exception {
+        StaxUnmarshallerContext context = newContext();
+        advanceTo(context, "Item");
+
+        XMLEvent event = context.nextEvent();
+        assertTrue(event.isAttribute());
+        assertTrue(context.testExpression("Item/@id", 3));
+        assertEquals("1", context.readText());
+
+        event = context.nextEvent();
+        assertTrue(event.isStartElement());
+        assertTrue(context.testExpression("Item/Name", 3));
+        assertFalse(context.testExpression("@id"));
+    }
+
+    @Test
+    public void endElements_PopPath() throws Exception {
+        StaxUnmarshallerContext context = newContext();
+        advanceTo(context, "RequestId");
+        assertEquals(3, context.getCurrentDepth());
+        assertTrue(context.testExpression("Response/ResponseMetadata/RequestId", 1));
+    }
+
+    @Test
+    public void metadataExpressions_AreCollected() throws Exception {
+        StaxUnmarshallerContext context = newContext();
+        context.registerMetadataExpression("ResponseMetadata/RequestId", 2, "requestId");
+        while (!context.nextEvent().isEndDocument()) {
+        }
+        assertEquals("abc", context.getMetadata().get("requestId"));
+        assertEquals(0, context.getCurrentDepth());
+    }
+
+    private static StaxUnmarshallerContext newContext() throws Exception {
+        return new StaxUnmarshallerContext(XmlUtils.getXmlInputFactory().createXMLEventReader(
+                new ByteArrayInputStream(XML.getBytes(StringUtils.UTF8))));
+    }
+
+    private static void advanceTo(StaxUnmarshallerContext context, String element) throws Exception {
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isStartElement()
+                && event.asStartElement().getName().getLocalPart().equals(element)) {
+                return;
+            }
+        }
+    }
+}
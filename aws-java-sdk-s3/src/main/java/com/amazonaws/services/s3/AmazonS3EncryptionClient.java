@@ -91,6 +91,10 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * to shut down the KMS client. 
      */
     private final boolean isKMSClientInternal;
+    /**
+     * True if the parts of multipart uploads can be uploaded concurrently.
+     */
+    private final boolean parallelPartUploads;
 
     // ///////////////////// Constructors ////////////////
     /**
@@ -511,6 +515,7 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
             : kms;
         this.crypto = new CryptoModuleDispatcher(this.kms, new S3DirectImpl(),
                 credentialsProvider, kekMaterialsProvider, cryptoConfig);
+        this.parallelPartUploads = cryptoConfig.isParallelPartUploads();
     }
 
     @SdkInternalApi
@@ -526,6 +531,7 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
                         params.getClientParams().getRequestMetricCollector()) : params.getKmsClient();
         this.crypto = new CryptoModuleDispatcher(this.kms, new S3DirectImpl(),
                 params.getClientParams().getCredentialsProvider(), params.getEncryptionMaterials(), params.getCryptoConfiguration());
+        this.parallelPartUploads = params.getCryptoConfiguration().isParallelPartUploads();
     }
 
     public static AmazonS3EncryptionClientBuilder encryptionBuilder() {
@@ -630,7 +636,9 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * N-1 in order to encrypt block N, parts uploaded with the
      * AmazonS3EncryptionClient (as opposed to the normal AmazonS3Client) must
      * be uploaded serially, and in order. Otherwise, the previous encryption
-     * context isn't available to use when encrypting the current part.
+     * context isn't available to use when encrypting the current part, unless
+     * {@link CryptoConfiguration#setParallelPartUploads(boolean) parallel part
+     * uploads} are enabled.
      */
     @Override
     public UploadPartResult uploadPart(UploadPartRequest uploadPartRequest)
@@ -663,6 +671,17 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
         return crypto.putInstructionFileSecurely(req);
     }
 
+    /**
+     * Returns true if the parts of multipart uploads can be uploaded
+     * concurrently with this client.
+     *
+     * @see CryptoConfiguration#setParallelPartUploads(boolean)
+     */
+    @SdkInternalApi
+    public boolean isParallelPartUploads() {
+        return parallelPartUploads;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -747,6 +766,11 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * hitting the limit and will only resume when the in-flight uploads catch
      * up by releasing the temporary disk space upon successful uploads of the
      * completed parts</li>
+     * <li>the maximum memory used to hold parts before they are uploaded; By
+     * default, no memory is used and every part is written to disk. When
+     * configured, parts are encrypted into a bounded pool of (optionally
+     * off-heap) buffers, and are only spilled to temporary files on disk when
+     * the limit is hit</li>
      * <li>the configuration of your own {@link MultiFileOutputStream} for
      * custom pipeline behavior</li>
      * <li>the configuration of your own {@link UploadObjectObserver} for custom
@@ -771,8 +795,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * <li>Initialize the <code>MultiFileOutputStream</code></li>
      * <li>Kicks off the pipeline for incremental encryption to disk with
      * pipelined concurrent multi-part uploads to S3</li>
-     * <li>For every part encrypted into a temporary file on disk, it is
-     * uploaded by calling
+     * <li>For every part encrypted into a temporary file on disk, or into a
+     * buffer in memory, it is uploaded by calling
      * {@link UploadObjectObserver#onPartCreate(PartCreationEvent)}</li>
      * <li>Finally, clean up and complete the multi-part upload by calling
      * {@link UploadObjectObserver#onCompletion(List)}.</li>
@@ -808,7 +832,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
             mfos = new MultiFileOutputStream();
         try {
             // initialize the multi-file output stream
-            mfos.init(observer, req.getPartSize(), req.getDiskLimit());
+            mfos.init(observer, req.getPartSize(), req.getDiskLimit(),
+                    req.getMemoryLimit(), req.isDirectPartBuffers());
             // Kicks off the encryption-upload pipeline;
             // Note mfos is automatically closed upon method completion.
             crypto.putLocalObjectSecurely(req, uploadId, mfos);
@@ -15,6 +15,7 @@
 package com.amazonaws.services.s3;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -24,7 +25,9 @@ import java.util.concurrent.Future;
 import org.apache.commons.logging.LogFactory;
 
 import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.services.s3.internal.ByteBufferInputStream;
 import com.amazonaws.services.s3.internal.MultiFileOutputStream;
+import com.amazonaws.services.s3.internal.PartBufferPool;
 import com.amazonaws.services.s3.internal.PartCreationEvent;
 import com.amazonaws.services.s3.internal.S3DirectSpi;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -118,12 +121,14 @@ public class UploadObjectObserver {
     }
 
     /**
-     * Notified from {@link MultiFileOutputStream#fos()} when a part ready for
-     * upload has been successfully created on disk. By default, this method
-     * performs the following:
+     * Notified from {@link MultiFileOutputStream} when a part ready for
+     * upload has been successfully created on disk, or in memory. By default,
+     * this method performs the following:
      * <ol>
      * <li>calls {@link #newUploadPartRequest(PartCreationEvent, File)} to
-     * create an upload-part request for the newly created ciphertext file</li>
+     * create an upload-part request for the newly created ciphertext file, or
+     * {@link #newUploadPartRequest(PartCreationEvent, ByteBuffer)} for the
+     * newly created ciphertext buffer</li>
      * <li>call {@link #appendUserAgent(AmazonWebServiceRequest, String)} to
      * append the necessary user agent string to the request</li>
      * <li>and finally submit a concurrent task, which calls the method
@@ -138,6 +143,10 @@ public class UploadObjectObserver {
      *            which is ready for multipart upload to S3.
      */
     public void onPartCreate(PartCreationEvent event) {
+        if (event.getPartBuffer() != null) {
+            onPartBufferCreate(event);
+            return;
+        }
         final File part = event.getPart();
         final UploadPartRequest reqUploadPart =
             newUploadPartRequest(event, part);
@@ -164,6 +173,26 @@ public class UploadObjectObserver {
         }));
     }
 
+    private void onPartBufferCreate(PartCreationEvent event) {
+        final ByteBuffer part = event.getPartBuffer();
+        final PartBufferPool pool = event.getPartBufferPool();
+        final UploadPartRequest reqUploadPart =
+            newUploadPartRequest(event, part);
+        appendUserAgent(reqUploadPart, AmazonS3EncryptionClient.USER_AGENT);
+        futures.add(es.submit(new Callable<UploadPartResult>() {
+            @Override public UploadPartResult call() {
+                // Upload the ciphertext directly via the non-encrypting
+                // s3 client
+                try {
+                    return uploadPart(reqUploadPart);
+                } finally {
+                    // free the buffer of the part already uploaded
+                    pool.release(part);
+                }
+            }
+        }));
+    }
+
     /**
      * Notified from
      * {@link AmazonS3EncryptionClient#uploadObject(UploadObjectRequest)} when
@@ -226,6 +255,31 @@ public class UploadObjectObserver {
         return reqUploadPart;
     }
 
+    /**
+     * Creates and returns an upload-part request corresponding to a ciphertext
+     * buffer upon a part-creation event.
+     * 
+     * @param event
+     *            the part-creation event of the ciphertxt buffer.
+     * @param part
+     *            the created ciphertext buffer corresponding to the
+     *            upload-part, positioned at the beginning of the part
+     */
+    protected UploadPartRequest newUploadPartRequest(PartCreationEvent event,
+            final ByteBuffer part) {
+        final UploadPartRequest reqUploadPart = new UploadPartRequest()
+            .withBucketName(req.getBucketName())
+            .withInputStream(new ByteBufferInputStream(part))
+            .withKey(req.getKey())
+            .withPartNumber(event.getPartNumber())
+            .withPartSize(part.remaining())
+            .withLastPart(event.isLastPart())
+            .withUploadId(uploadId)
+            .withObjectMetadata(req.getUploadPartMetadata())
+            ;
+        return reqUploadPart;
+    }
+
     /**
      * Uploads the ciphertext via the non-encrypting s3 client.
      * @param reqUploadPart part upload request
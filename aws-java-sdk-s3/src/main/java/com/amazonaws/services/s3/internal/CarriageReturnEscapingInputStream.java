@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import static com.amazonaws.util.StringUtils.UTF8;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.internal.SdkFilterInputStream;
+
+/**
+ * Filtered input stream that replaces every carriage return (\r) of an XML
+ * document with the equivalent character entity as the document is read, to
+ * prevent the SAX parser from misinterpreting 0x0D characters as 0x0A.
+ * <p>
+ * The document is expected to be UTF-8 encoded, where the 0x0D byte never
+ * appears as part of a multi-byte character, so the replacement is done on the
+ * raw bytes without decoding them.
+ */
+@SdkInternalApi
+public final class CarriageReturnEscapingInputStream extends SdkFilterInputStream {
+
+    private static final byte[] ESCAPED_CARRIAGE_RETURN = "&#013;".getBytes(UTF8);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    /** Position in the escape sequence being written, or its length if there is none. */
+    private int escapePosition = ESCAPED_CARRIAGE_RETURN.length;
+
+    public CarriageReturnEscapingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int read = read(b, 0, 1);
+        return read == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        while (n < len) {
+            if (escapePosition < ESCAPED_CARRIAGE_RETURN.length) {
+                b[off + n++] = ESCAPED_CARRIAGE_RETURN[escapePosition++];
+                continue;
+            }
+            if (position == limit) {
+                // Only block on the underlying stream if nothing has been read yet
+                if (n > 0 || !fill()) {
+                    break;
+                }
+            }
+            // Copy everything up to the next carriage return in one go
+            int max = Math.min(limit - position, len - n);
+            int run = 0;
+            while (run < max && buffer[position + run] != '\r') {
+                run++;
+            }
+            System.arraycopy(buffer, position, b, off + n, run);
+            n += run;
+            position += run;
+            if (run < max) {
+                position++;
+                escapePosition = 0;
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        byte[] skipBuffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+        while (skipped < n) {
+            int read = read(skipBuffer, 0, (int) Math.min(n - skipped, skipBuffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        abortIfNeeded();
+        return (limit - position) + (ESCAPED_CARRIAGE_RETURN.length - escapePosition);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * @return false if the end of the underlying stream has been reached.
+     */
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read == -1) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
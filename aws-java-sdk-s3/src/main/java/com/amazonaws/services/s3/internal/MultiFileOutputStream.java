@@ -18,6 +18,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 import java.util.concurrent.Semaphore;
 
@@ -32,6 +33,10 @@ import com.amazonaws.services.s3.UploadObjectObserver;
 /**
  * Used to split an output stream into multiple files for purposes such as
  * parallel uploads.
+ * <p>
+ * If initialized with a memory limit, parts are held in a bounded pool of
+ * in-memory buffers instead, and are only spilled to files when all the
+ * buffers are in use.
  */
 public class MultiFileOutputStream extends OutputStream implements OnFileDelete {
     static final int DEFAULT_PART_SIZE = 5 << 20; // 5MB
@@ -55,6 +60,14 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     /** null means no blocking necessary. */
     private Semaphore diskPermits;
 
+    /** null means parts are always written to files. */
+    private PartBufferPool bufferPool;
+    /**
+     * The buffer the current part is written into; or null if the current part
+     * is written to a file.
+     */
+    private ByteBuffer buffer;
+
     /**
      * Construct an instance to use the default temporary directory and temp
      * file naming convention. The
@@ -115,6 +128,47 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
         return this;
     }
 
+    /**
+     * Used to initialized this stream to hold parts in memory up to the given
+     * memory limit, spilling parts to disk only when the limit is hit. This
+     * method is an SPI (service provider interface) that is called from
+     * <code>AmazonS3EncryptionClient</code>.
+     * <p>
+     * Implementation of this method should never block.
+     * 
+     * @param observer
+     *            the upload object observer
+     * @param partSize
+     *            part size for multi-part upload
+     * @param diskLimit
+     *            the maximum disk space to be used for this multi-part upload
+     * @param memoryLimit
+     *            the maximum memory to be used to hold parts for this
+     *            multi-part upload; or 0 if parts are only written to disk
+     * @param directBuffers
+     *            true to hold parts in memory off-heap
+     * 
+     * @return this object
+     */
+    public MultiFileOutputStream init(UploadObjectObserver observer,
+            long partSize, long diskLimit, long memoryLimit,
+            boolean directBuffers) {
+        init(observer, partSize, diskLimit);
+        if (memoryLimit <= 0) {
+            this.bufferPool = null;
+            return this;
+        }
+        if (memoryLimit < partSize || partSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Maximum memory must be at least as large as the part size, which must fit in a buffer: partSize="
+                + partSize + ", memoryLimit=" + memoryLimit);
+        }
+        final long max = memoryLimit / partSize;
+        this.bufferPool = new PartBufferPool((int) partSize,
+                (int) Math.min(max, Integer.MAX_VALUE), directBuffers);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -122,7 +176,11 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     @Override
     public void write(int b) throws IOException {
-        fos().write(b);
+        nextPartIfNecessary();
+        if (buffer != null)
+            buffer.put((byte) b);
+        else
+            os.write(b);
         currFileBytesWritten++;
         totalBytesWritten++;
     }
@@ -134,11 +192,7 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     @Override
     public void write(byte[] b) throws IOException {
-        if (b.length == 0)
-            return;
-        fos().write(b);
-        currFileBytesWritten += b.length;
-        totalBytesWritten += b.length;
+        write(b, 0, b.length);
     }
 
     /**
@@ -150,35 +204,59 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     public void write(byte[] b, int off, int len) throws IOException {
         if (b.length == 0)
             return;
-        fos().write(b, off, len);
-        currFileBytesWritten += len;
-        totalBytesWritten += len;
+        while (len > 0) {
+            nextPartIfNecessary();
+            final int written;
+            if (buffer != null) {
+                // a buffer holds exactly one part
+                written = Math.min(len, buffer.remaining());
+                buffer.put(b, off, written);
+            } else {
+                written = len;
+                os.write(b, off, len);
+            }
+            off += written;
+            len -= written;
+            currFileBytesWritten += written;
+            totalBytesWritten += written;
+        }
     }
 
     /**
-     * Returns the file output stream to be used for writing, blocking if
+     * Starts a new part if there is none or the current one is full, writing
+     * it into a free buffer if any, or else into a new file, blocking if
      * necessary if running out of disk space.
      * 
-     * @throws InterruptedException if the running thread was interrupted
+     * @throws AbortedException if the running thread was interrupted
      */
-    private FileOutputStream fos() throws IOException {
+    private void nextPartIfNecessary() throws IOException {
         if (closed)
             throw new IOException("Output stream is already closed");
-        if (os == null || currFileBytesWritten >= partSize) {
-            if (os != null) {
+        if (os == null && buffer == null || currFileBytesWritten >= partSize) {
+            // notify about the new part ready for processing
+            if (buffer != null) {
+                buffer.flip();
+                observer.onPartCreate(new PartCreationEvent(
+                        buffer, filesCreated, false, bufferPool));
+                buffer = null;
+            } else if (os != null) {
                 os.close();
-                // notify about the new file ready for processing
+                os = null;
                 observer.onPartCreate(new PartCreationEvent(
                         getFile(filesCreated), filesCreated, false, this));
             }
             currFileBytesWritten = 0;
             filesCreated++;
-            blockIfNecessary();
-            final File file = getFile(filesCreated);
-            file.deleteOnExit();
-            os = new FileOutputStream(file);
+            if (bufferPool != null)
+                buffer = bufferPool.tryAcquire();
+            if (buffer == null) {
+                // spill to disk
+                blockIfNecessary();
+                final File file = getFile(filesCreated);
+                file.deleteOnExit();
+                os = new FileOutputStream(file);
+            }
         }
-        return os;
     }
 
     @Override
@@ -217,7 +295,17 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
         if (closed)
             return;
         closed = true;
-        if (os != null) {
+        if (buffer != null) {
+            if (buffer.position() == 0) {
+                bufferPool.release(buffer);
+            } else {
+                // notify about the new part ready for processing
+                buffer.flip();
+                observer.onPartCreate(new PartCreationEvent(
+                        buffer, filesCreated, true, bufferPool));
+            }
+            buffer = null;
+        } else if (os != null) {
             os.close();
             File lastPart = getFile(filesCreated);
             if (lastPart.length() == 0) {
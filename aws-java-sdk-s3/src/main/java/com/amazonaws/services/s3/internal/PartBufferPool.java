@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A bounded pool of buffers holding the data of the parts of a multipart
+ * upload in memory, on the heap or off-heap, so that parts read from a stream
+ * can be uploaded concurrently without spooling them to disk.
+ * <p>
+ * At most {@link #getMaxBuffers()} buffers are handed out at a time, which
+ * caps the memory used to {@code maxBuffers * bufferSize} bytes. Buffers are
+ * allocated lazily and reused once released, so a pool only allocates as many
+ * buffers as the upload actually needs at the same time.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class PartBufferPool {
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final boolean direct;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+
+    /**
+     * @param bufferSize
+     *            The capacity in bytes of each buffer.
+     * @param maxBuffers
+     *            The maximum number of buffers handed out at a time.
+     * @param direct
+     *            True to allocate the buffers off-heap.
+     */
+    public PartBufferPool(int bufferSize, int maxBuffers, boolean direct) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        if (maxBuffers <= 0) {
+            throw new IllegalArgumentException("maxBuffers must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.direct = direct;
+        this.permits = new Semaphore(maxBuffers);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * Returns a cleared buffer, waiting for one to be released if all of them
+     * are in use.
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        permits.acquire();
+        return take();
+    }
+
+    /**
+     * Returns a cleared buffer, or null if all of them are in use.
+     */
+    public ByteBuffer tryAcquire() {
+        return permits.tryAcquire() ? take() : null;
+    }
+
+    /**
+     * Returns the given buffer, acquired from this pool, to the pool.
+     */
+    public void release(ByteBuffer buffer) {
+        freeBuffers.add(buffer);
+        permits.release();
+    }
+
+    private ByteBuffer take() {
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer == null) {
+            buffer = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+}
@@ -15,6 +15,7 @@
 package com.amazonaws.services.s3.internal;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import com.amazonaws.services.s3.OnFileDelete;
 
@@ -23,6 +24,8 @@ public class PartCreationEvent {
     private final int partNumber;
     private final boolean isLastPart;
     private final OnFileDelete fileDeleteObserver;
+    private final ByteBuffer partBuffer;
+    private final PartBufferPool partBufferPool;
 
     PartCreationEvent(File part, int partNumber, boolean isLastPart,
             OnFileDelete fileDeleteObserver) {
@@ -32,15 +35,47 @@ public class PartCreationEvent {
         this.partNumber = partNumber;
         this.isLastPart = isLastPart;
         this.fileDeleteObserver = fileDeleteObserver;
+        this.partBuffer = null;
+        this.partBufferPool = null;
+    }
+
+    PartCreationEvent(ByteBuffer partBuffer, int partNumber,
+            boolean isLastPart, PartBufferPool partBufferPool) {
+        if (partBuffer == null)
+            throw new IllegalArgumentException("part must not be specified");
+        this.part = null;
+        this.partNumber = partNumber;
+        this.isLastPart = isLastPart;
+        this.fileDeleteObserver = null;
+        this.partBuffer = partBuffer;
+        this.partBufferPool = partBufferPool;
     }
 
     /**
-     * Returns a non-null part (in the form of a file) for multi-part upload.
+     * Returns the part (in the form of a file) for multi-part upload; or null
+     * if the part is held in memory, in which case {@link #getPartBuffer()}
+     * is non-null.
      */
     public File getPart() {
         return part;
     }
 
+    /**
+     * Returns the part (in the form of a buffer positioned at the beginning of
+     * the part) for multi-part upload; or null if the part is a file.
+     */
+    public ByteBuffer getPartBuffer() {
+        return partBuffer;
+    }
+
+    /**
+     * Returns the pool the part buffer must be released to once the part has
+     * been uploaded; or null if the part is a file.
+     */
+    public PartBufferPool getPartBufferPool() {
+        return partBufferPool;
+    }
+
     public int getPartNumber() {
         return partNumber;
     }
@@ -19,6 +19,13 @@ import com.amazonaws.annotation.GuardedBy;
 import com.amazonaws.SdkClientException;
 
 class MultipartUploadCryptoContext extends MultipartUploadContext {
+    /**
+     * Maximum time (in milliseconds) a part waits during parallel part uploads
+     * while no previous part is being encrypted. Guards against executors that
+     * do not run the parts in the order they were submitted, which would
+     * otherwise leave the part waiting forever for a part queued behind it.
+     */
+    static final long PART_ENCRYPTION_WAIT_TIMEOUT_MILLIS = 1000L * 60 * 5;
     private final ContentCryptoMaterial cekMaterial;
     /**
      * Can be used to enforce serial uploads.
@@ -29,6 +36,12 @@ class MultipartUploadCryptoContext extends MultipartUploadContext {
      * True if a multi-part upload is currently in progress; false otherwise.
      */
     private volatile boolean partUploadInProgress;
+    /**
+     * True if a part failed to be encrypted during parallel part uploads, in
+     * which case the encryption context is lost for the following parts.
+     */
+    @GuardedBy("this")
+    private boolean partEncryptionFailed;
 
     MultipartUploadCryptoContext(String bucketName, String key,
             ContentCryptoMaterial cekMaterial) {
@@ -97,4 +110,73 @@ class MultipartUploadCryptoContext extends MultipartUploadContext {
     void endPartUpload() {
         partUploadInProgress = false;
     }
+
+    /**
+     * Waits until all the parts before the given one have been encrypted, for
+     * parts uploaded concurrently to still be encrypted in series and in
+     * order. Caller of this method is responsible to call
+     * {@link #endPartEncryption(boolean)} in a finally block once the part is
+     * encrypted (either normally or abruptly).
+     *
+     * @see #endPartEncryption(boolean)
+     *
+     * @throws SdkClientException
+     *             if the part has already been encrypted, if a previous part
+     *             failed to be encrypted, or if the previous part did not
+     *             start its encryption within
+     *             {@link #PART_ENCRYPTION_WAIT_TIMEOUT_MILLIS}, in which case
+     *             the following parts fail too
+     */
+    synchronized void beginPartEncryption(final int nextPartNumber)
+            throws InterruptedException {
+        if (nextPartNumber < 1)
+            throw new IllegalArgumentException("part number must be at least 1");
+        int lastStartedPart = partNumber;
+        long deadline = System.currentTimeMillis() + PART_ENCRYPTION_WAIT_TIMEOUT_MILLIS;
+        while (true) {
+            if (partEncryptionFailed) {
+                throw new SdkClientException("Unable to encrypt part "
+                        + nextPartNumber + ": a previous part failed to be encrypted");
+            }
+            if (nextPartNumber <= partNumber) {
+                throw new SdkClientException("Part " + nextPartNumber
+                        + " has already been encrypted and cannot be uploaded again");
+            }
+            if (nextPartNumber == partNumber + 1 && !partUploadInProgress) {
+                partNumber = nextPartNumber;
+                partUploadInProgress = true;
+                return;
+            }
+            if (partUploadInProgress || partNumber != lastStartedPart) {
+                lastStartedPart = partNumber;
+                deadline = System.currentTimeMillis() + PART_ENCRYPTION_WAIT_TIMEOUT_MILLIS;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                // The encryption context can't skip the missing part
+                partEncryptionFailed = true;
+                notifyAll();
+                throw new SdkClientException("Unable to encrypt part " + nextPartNumber
+                        + ": timed out waiting for part " + (partNumber + 1) + " to be encrypted");
+            }
+            wait(remaining);
+        }
+    }
+
+    /**
+     * Used to mark the end of the encryption of a part, letting the next part
+     * be encrypted. Should be invoked in a finally block, and must be preceded
+     * previously by a call to {@link #beginPartEncryption(int)}.
+     *
+     * @param encrypted
+     *            false if the part failed to be encrypted
+     * @see #beginPartEncryption(int)
+     */
+    synchronized void endPartEncryption(boolean encrypted) {
+        partUploadInProgress = false;
+        if (!encrypted) {
+            partEncryptionFailed = true;
+        }
+        notifyAll();
+    }
 }
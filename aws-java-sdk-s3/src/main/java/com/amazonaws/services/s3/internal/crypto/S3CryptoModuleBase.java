@@ -27,6 +27,7 @@ import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.Throwables.failure;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +47,7 @@ import com.amazonaws.services.kms.AWSKMS;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.AbortedException;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.AmazonWebServiceRequest;
@@ -277,7 +279,10 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
      * previous blocks, parts uploaded with the AmazonS3EncryptionClient (as
      * opposed to the normal AmazonS3Client) must be uploaded serially, and in
      * order. Otherwise, the previous encryption context isn't available to use
-     * when encrypting the current part.
+     * when encrypting the current part, unless parallel part uploads are
+     * enabled in the crypto configuration.
+     *
+     * @see CryptoConfiguration#setParallelPartUploads(boolean)
      */
     @Override
     public UploadPartResult uploadPartSecurely(UploadPartRequest req) {
@@ -299,6 +304,9 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
             throw new SdkClientException(
                 "No client-side information available on upload ID " + uploadId);
         }
+        if (cryptoConfig.isParallelPartUploads()) {
+            return uploadPartSecurelyInParallel(req, uploadContext);
+        }
         final UploadPartResult result;
         // Checks the parts are uploaded in series
         uploadContext.beginPartUpload(req.getPartNumber());
@@ -341,6 +349,78 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
         return result;
     }
 
+    /**
+     * Encrypts the given part into memory once all the previous parts have
+     * been encrypted, then uploads the encrypted part, so that the upload of
+     * the part can run concurrently with the encryption and upload of the
+     * following parts.
+     */
+    private UploadPartResult uploadPartSecurelyInParallel(UploadPartRequest req, T uploadContext) {
+        final boolean isLastPart = req.isLastPart();
+        final File fileOrig = req.getFile();
+        final InputStream isOrig = req.getInputStream();
+        if (req.getPartSize() > Integer.MAX_VALUE - 1024) {
+            throw new SdkClientException(
+                "Invalid part size: parts of encrypted multipart uploads uploaded in parallel are "
+                    + "encrypted into memory and must be smaller than 2 GB.");
+        }
+        final PartCiphertext ciphertext = new PartCiphertext(req.getPartSize());
+        try {
+            uploadContext.beginPartEncryption(req.getPartNumber());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException();
+        }
+        SdkFilterInputStream isCurr = null;
+        boolean encrypted = false;
+        try {
+            if (isLastPart && uploadContext.hasFinalPartBeenSeen()) {
+                throw new SdkClientException(
+                    "This part was specified as the last part in a multipart upload, but a previous part was already marked as the last part.  "
+                  + "Only the last part of the upload should be marked as the last part.");
+            }
+            CipherLite cipherLite = cipherLiteForNextPart(uploadContext);
+            CipherLiteInputStream clis = newMultipartS3CipherInputStream(req, cipherLite);
+            isCurr = clis;
+            isCurr = wrapForMultipart(clis, req.getPartSize());
+            IOUtils.copy(isCurr, ciphertext);
+            updateUploadContext(uploadContext, isCurr);
+            if (isLastPart)
+                uploadContext.setHasFinalPartBeenSeen(true);
+            encrypted = true;
+        } catch (IOException e) {
+            throw new SdkClientException("Unable to encrypt part " + req.getPartNumber(), e);
+        } finally {
+            cleanupDataSource(req, fileOrig, isOrig, isCurr, log);
+            uploadContext.endPartEncryption(encrypted);
+        }
+
+        try {
+            req.setInputStream(ciphertext.toInputStream());
+            req.setFile(null);
+            req.setFileOffset(0);
+            req.setPartSize(ciphertext.size());
+            return s3.uploadPart(req);
+        } finally {
+            req.setInputStream(isOrig);
+            req.setFile(fileOrig);
+        }
+    }
+
+    /**
+     * Holds the encrypted content of a part, read back without copying it.
+     */
+    private static final class PartCiphertext extends ByteArrayOutputStream {
+        PartCiphertext(long partSize) {
+            // The last part can be a cipher block and a tag longer
+            super((int) partSize + 64);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
     protected final CipherLiteInputStream newMultipartS3CipherInputStream(
             UploadPartRequest req, CipherLite cipherLite) {
         final File fileOrig = req.getFile();
@@ -42,6 +42,11 @@ public class CryptoConfiguration implements Cloneable,Serializable {
      * missing instruction file would always cause security exception.
      */
     private boolean ignoreMissingInstructionFile = true;
+    /**
+     * True to allow the parts of a multipart upload to be uploaded
+     * concurrently; false otherwise. Default is false.
+     */
+    private boolean parallelPartUploads;
     /**
      * Used to specify the KMS region for the AWS KMS client when such client
      * is internally instantiated instead of externally passed in by users; or
@@ -224,6 +229,53 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         return this;
     }
 
+    /**
+     * Returns true if the parts of a multipart upload can be uploaded
+     * concurrently; false otherwise. Default is false.
+     *
+     * @see #setParallelPartUploads(boolean)
+     */
+    public boolean isParallelPartUploads() {
+        return parallelPartUploads;
+    }
+
+    /**
+     * Because the encryption of each part of a multipart upload requires
+     * context from the previous parts, parts must by default be uploaded
+     * serially, and in order. When set to true, parts can be uploaded
+     * concurrently instead: each part still waits for all the previous parts
+     * to be encrypted, but it is then encrypted into memory as a whole and
+     * uploaded at the same time as the parts that follow. The
+     * {@link com.amazonaws.services.s3.transfer.TransferManager} then uploads
+     * the parts of encrypted files in parallel, as long as its executor is a
+     * thread pool with a FIFO work queue.
+     * <p>
+     * Each part being uploaded is held in memory, so the memory used is up to
+     * the part size times the number of concurrent part uploads. Parts must be
+     * submitted in part number order, without gaps, and a part cannot be
+     * uploaded again once encrypted; a part that fails to be encrypted, or
+     * that waits five minutes while no previous part is being encrypted, fails
+     * the parts waiting behind it.
+     *
+     * @param parallelPartUploads
+     *            true to allow the parts of a multipart upload to be uploaded
+     *            concurrently; false otherwise. Default is false.
+     */
+    public void setParallelPartUploads(boolean parallelPartUploads) {
+        this.parallelPartUploads = parallelPartUploads;
+    }
+
+    /**
+     * Fluent API to allow the parts of a multipart upload to be uploaded
+     * concurrently.
+     *
+     * @see #setParallelPartUploads(boolean)
+     */
+    public CryptoConfiguration withParallelPartUploads(boolean parallelPartUploads) {
+        this.parallelPartUploads = parallelPartUploads;
+        return this;
+    }
+
     /**
      * Checks if the crypto mode is supported by the runtime.
      * 
@@ -282,6 +334,12 @@ public class CryptoConfiguration implements Cloneable,Serializable {
                 boolean ignoreMissingInstructionFile) {
             throw new UnsupportedOperationException();
         }
+        @Override public void setParallelPartUploads(boolean parallelPartUploads) {
+            throw new UnsupportedOperationException();
+        }
+        @Override public CryptoConfiguration withParallelPartUploads(boolean parallelPartUploads) {
+            throw new UnsupportedOperationException();
+        }
         @Override public void setKmsRegion(Regions kmsRegion) {
             throw new UnsupportedOperationException();
         }
@@ -309,6 +367,7 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         that.storageMode = this.storageMode;
         that.cryptoProvider = this.cryptoProvider;
         that.ignoreMissingInstructionFile = this.ignoreMissingInstructionFile;
+        that.parallelPartUploads = this.parallelPartUploads;
         that.awskmsRegion = this.awskmsRegion;
         return that;
     }
@@ -73,6 +73,20 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
      */
     private long diskLimit = Long.MAX_VALUE;
 
+    /**
+     * Limitation (in bytes) on the memory used to hold parts for this request;
+     * must be at least the amount of the specified {@link #partSize}. Parts are
+     * only spilled to temporary files on disk when the limit is hit. The
+     * default is 0, which means all the parts are written to disk.
+     */
+    private long memoryLimit;
+
+    /**
+     * True if parts held in memory are allocated off-heap. The default is
+     * false.
+     */
+    private boolean directPartBuffers;
+
     public UploadObjectRequest(String bucketName, String key, File file) {
         super(bucketName, key, file);
     }
@@ -127,6 +141,46 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
         return this;
     }
 
+    /**
+     * Returns the maximum size (in bytes) of memory that will be used to hold
+     * parts for this request; or 0 if all the parts are written to disk.
+     */
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Configured the maximum memory (in bytes) that will be used to hold parts
+     * for this request, so that parts are only spilled to disk when the limit
+     * is hit. The maximum memory must be at least the size of
+     * {@link #partSize}, which must not exceed {@value Integer#MAX_VALUE}; or
+     * 0 to write all the parts to disk.
+     *
+     * @return this object for method chaining purposes
+     */
+    public UploadObjectRequest withMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+        return this;
+    }
+
+    /**
+     * Returns true if parts held in memory are allocated off-heap.
+     */
+    public boolean isDirectPartBuffers() {
+        return directPartBuffers;
+    }
+
+    /**
+     * Configured whether parts held in memory are allocated off-heap. Only
+     * used if a {@link #withMemoryLimit(long) memory limit} is configured.
+     *
+     * @return this object for method chaining purposes
+     */
+    public UploadObjectRequest withDirectPartBuffers(boolean directPartBuffers) {
+        this.directPartBuffers = directPartBuffers;
+        return this;
+    }
+
     /**
      * Returns a custom executor service for concurrent uploads; or null there
      * is no customization.
@@ -251,6 +305,8 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
                     ? null
                     : new HashMap<String, String>(materialsDescription))
                 .withDiskLimit(getDiskLimit())
+                .withMemoryLimit(getMemoryLimit())
+                .withDirectPartBuffers(isDirectPartBuffers())
                 .withExecutorService(getExecutorService())
                 .withMultiFileOutputStream(getMultiFileOutputStream())
                 .withPartSize(getPartSize())
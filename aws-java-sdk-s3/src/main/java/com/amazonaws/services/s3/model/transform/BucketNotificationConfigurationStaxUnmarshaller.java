@@ -17,13 +17,13 @@ package com.amazonaws.services.s3.model.transform;
 import java.io.InputStream;
 import java.util.Map.Entry;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.events.XMLEvent;
 
 import com.amazonaws.services.s3.model.BucketNotificationConfiguration;
 import com.amazonaws.services.s3.model.NotificationConfiguration;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.util.XmlUtils;
 
 public class BucketNotificationConfigurationStaxUnmarshaller implements
         Unmarshaller<BucketNotificationConfiguration, InputStream> {
@@ -34,17 +34,13 @@ public class BucketNotificationConfigurationStaxUnmarshaller implements
         return instance;
     }
 
-    private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-
     private BucketNotificationConfigurationStaxUnmarshaller() {
     }
 
     @Override
     public BucketNotificationConfiguration unmarshall(InputStream inputStream) throws Exception {
-        StaxUnmarshallerContext context;
-        synchronized (inputFactory) {
-            context = new StaxUnmarshallerContext(inputFactory.createXMLEventReader(inputStream));
-        }
+        StaxUnmarshallerContext context = new StaxUnmarshallerContext(
+                XmlUtils.getXmlInputFactory().createXMLEventReader(inputStream));
         int originalDepth = context.getCurrentDepth();
         int targetDepth = originalDepth + 1;
 
@@ -20,7 +20,9 @@ import java.net.SocketException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -47,7 +49,9 @@ import com.amazonaws.services.s3.transfer.internal.AbstractTransfer;
 import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.DownloadMonitor;
 import com.amazonaws.services.s3.transfer.internal.DownloadPartCallable;
+import com.amazonaws.services.s3.transfer.internal.DownloadPartInPlaceCallable;
 import com.amazonaws.services.s3.transfer.internal.CompleteMultipartDownload;
+import com.amazonaws.services.s3.transfer.internal.CompleteMultipartDownloadInPlace;
 import com.amazonaws.util.IOUtils;
 
 @SdkInternalApi
@@ -69,6 +73,10 @@ final class DownloadCallable implements Callable<File> {
     private final boolean isDownloadParallel;
     private Integer lastFullyMergedPartNumber;
     private final boolean resumeOnRetry;
+    private final boolean downloadPartsInPlace;
+    private final long[] completedParts;
+    private final long downloadRangeSize;
+    private final int downloadRangeConcurrency;
 
     private long expectedFileLength;
 
@@ -79,6 +87,21 @@ final class DownloadCallable implements Callable<File> {
             ScheduledExecutorService timedExecutor,
             ExecutorService executor,
             Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel, boolean resumeOnRetry)
+    {
+        this(s3, latch, req, resumeExistingDownload, download, dstfile, origStartingByte,
+                expectedFileLength, timeout, timedExecutor, executor, lastFullyDownloadedPartNumber,
+                isDownloadParallel, resumeOnRetry, false, null, 0L, 1);
+    }
+
+    DownloadCallable(AmazonS3 s3, CountDownLatch latch,
+            GetObjectRequest req, boolean resumeExistingDownload,
+            DownloadImpl download, File dstfile, long origStartingByte,
+            long expectedFileLength, long timeout,
+            ScheduledExecutorService timedExecutor,
+            ExecutorService executor,
+            Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel, boolean resumeOnRetry,
+            boolean downloadPartsInPlace, long[] completedParts,
+            long downloadRangeSize, int downloadRangeConcurrency)
     {
         if (s3 == null || latch == null || req == null || dstfile == null || download == null)
             throw new IllegalArgumentException();
@@ -97,6 +120,11 @@ final class DownloadCallable implements Callable<File> {
         this.lastFullyMergedPartNumber = lastFullyDownloadedPartNumber;
         this.isDownloadParallel = isDownloadParallel;
         this.resumeOnRetry = resumeOnRetry;
+        // Parts written in place by a paused download must be resumed in place
+        this.downloadPartsInPlace = downloadPartsInPlace || completedParts != null;
+        this.completedParts = completedParts;
+        this.downloadRangeSize = downloadRangeSize;
+        this.downloadRangeConcurrency = Math.max(1, downloadRangeConcurrency);
     }
 
     /**
@@ -129,7 +157,11 @@ final class DownloadCallable implements Callable<File> {
             download.setState(TransferState.InProgress);
             ServiceUtils.createParentDirectoryIfNecessary(dstfile);
 
-            if (isDownloadParallel) {
+            if (downloadRangeSize > 0) {
+                downloadRangesInPlace();
+            } else if (isDownloadParallel && downloadPartsInPlace) {
+                downloadPartsInPlace(ServiceUtils.getPartCount(req, s3));
+            } else if (isDownloadParallel) {
                 downloadInParallel(ServiceUtils.getPartCount(req, s3));
             } else {
                 S3Object s3Object = retryableDownloadS3ObjectToFile(dstfile,
@@ -177,18 +209,8 @@ final class DownloadCallable implements Callable<File> {
         }
 
         for (int i = lastFullyMergedPartNumber + 1; i <= partCount; i++) {
-            GetObjectRequest getPartRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
-                    req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
-                            .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
-                            .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
-                            .withGeneralProgressListener(req.getGeneralProgressListener());
-
-            getPartRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
-            getPartRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
-            getPartRequest.setRequesterPays(req.isRequesterPays());
-
             futureFiles.add(
-                    executor.submit(new DownloadPartCallable(s3, getPartRequest.withPartNumber(i), dstfile)));
+                    executor.submit(new DownloadPartCallable(s3, newGetPartRequest(i), dstfile)));
         }
 
         truncateDestinationFileIfNecessary();
@@ -196,6 +218,211 @@ final class DownloadCallable implements Callable<File> {
         ((DownloadMonitor) download.getMonitor()).setFuture(future);
     }
 
+    /**
+     * Returns a request to get the given part of the object, with the
+     * constraints and options of the original request.
+     */
+    private GetObjectRequest newGetPartRequest(int partNumber) {
+        return newGetRequest().withPartNumber(partNumber);
+    }
+
+    /**
+     * Returns a request to get the given range of the object, with the
+     * constraints and options of the original request, that only succeeds
+     * if the object still has the given ETag.
+     */
+    private GetObjectRequest newGetRangeRequest(int rangeNumber, String eTag) {
+        final long objectLength = download.getObjectMetadata().getContentLength();
+        final long firstByte = (rangeNumber - 1) * downloadRangeSize;
+        final long lastByte = Math.min(firstByte + downloadRangeSize, objectLength) - 1;
+        GetObjectRequest getRangeRequest = newGetRequest().withRange(firstByte, lastByte);
+        if (eTag != null) {
+            // Don't add the ETag to the constraints list shared with the original request
+            List<String> matchingETags = new ArrayList<String>();
+            if (req.getMatchingETagConstraints() != null) {
+                matchingETags.addAll(req.getMatchingETagConstraints());
+            }
+            matchingETags.add(eTag);
+            getRangeRequest.setMatchingETagConstraints(matchingETags);
+        }
+        return getRangeRequest;
+    }
+
+    private GetObjectRequest newGetRequest() {
+        GetObjectRequest getPartRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
+                req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
+                        .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
+                        .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
+                        .withGeneralProgressListener(req.getGeneralProgressListener());
+
+        getPartRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
+        getPartRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
+        getPartRequest.setRequesterPays(req.isRequesterPays());
+        return getPartRequest;
+    }
+
+    /**
+     * Downloads each part of the object in parallel, writing the part data
+     * directly at its offset in the destination file, which is allocated to
+     * the size of the object up front. Parts already written by a paused
+     * download are skipped.
+     */
+    private void downloadPartsInPlace(int partCount) throws Exception {
+        final long[] completed = newCompletedPartsBitmap(partCount);
+        if (completedParts == null && lastFullyMergedPartNumber != null) {
+            // Parts merged in order by a paused download are already in place
+            for (int i = 1; i <= lastFullyMergedPartNumber; i++) {
+                completed[(i - 1) >>> 6] |= 1L << (i - 1);
+            }
+        }
+
+        allocateDestinationFile(completed, partCount);
+        download.setCompletedParts(completed);
+
+        for (int i = 1; i <= partCount; i++) {
+            if (isPartCompleted(completed, i)) {
+                continue;
+            }
+            futureFiles.add(executor.submit(
+                    new DownloadPartInPlaceCallable(s3, newGetPartRequest(i), dstfile, download)));
+        }
+
+        Future<File> future = executor.submit(new CompleteMultipartDownloadInPlace(futureFiles, dstfile, download));
+        ((DownloadMonitor) download.getMonitor()).setFuture(future);
+    }
+
+    /**
+     * Downloads an object not uploaded with a multipart upload with parallel
+     * ranged GET requests, writing each range directly at its offset in the
+     * destination file, which is allocated to the size of the object up
+     * front. At most {@link #downloadRangeConcurrency} ranges are fetched at
+     * the same time. Each request is constrained to the ETag of the object
+     * when the download started, so that the ranges of two different versions
+     * of the object are never mixed. Ranges already written by a paused
+     * download are skipped.
+     */
+    private void downloadRangesInPlace() throws Exception {
+        final long objectLength = download.getObjectMetadata().getContentLength();
+        final long rangeCount = (objectLength + downloadRangeSize - 1) / downloadRangeSize;
+        if (rangeCount > Integer.MAX_VALUE) {
+            throw new SdkClientException("Unable to download " + objectLength + " bytes in ranges of "
+                    + downloadRangeSize + " bytes: too many ranges");
+        }
+        final long[] completed = newCompletedPartsBitmap((int) rangeCount);
+
+        allocateDestinationFile(completed, (int) rangeCount);
+        download.setCompletedParts(completed);
+
+        final String eTag = download.getObjectMetadata().getETag();
+        final Queue<DownloadPartInPlaceCallable> pendingRanges = new ConcurrentLinkedQueue<DownloadPartInPlaceCallable>();
+        for (int i = 1; i <= rangeCount; i++) {
+            if (isPartCompleted(completed, i)) {
+                continue;
+            }
+            pendingRanges.add(new DownloadPartInPlaceCallable(s3, newGetRangeRequest(i, eTag), i, dstfile,
+                    download, eTag));
+        }
+
+        final int workers = Math.min(downloadRangeConcurrency, pendingRanges.size());
+        for (int i = 0; i < workers; i++) {
+            futureFiles.add(executor.submit(new Callable<File>() {
+                @Override
+                public File call() throws Exception {
+                    DownloadPartInPlaceCallable range;
+                    try {
+                        while ((range = pendingRanges.poll()) != null) {
+                            range.call();
+                        }
+                    } catch (Exception e) {
+                        // Don't start any other range once one has failed
+                        pendingRanges.clear();
+                        throw e;
+                    }
+                    return dstfile;
+                }
+            }));
+        }
+
+        Future<File> future = executor.submit(new CompleteMultipartDownloadInPlace(futureFiles, dstfile, download));
+        ((DownloadMonitor) download.getMonitor()).setFuture(future);
+    }
+
+    /**
+     * Returns a bitmap sized for the given number of parts or ranges, with the
+     * bits of those written by a paused download set.
+     */
+    private long[] newCompletedPartsBitmap(int partCount) {
+        final long[] completed = new long[(partCount + 63) >>> 6];
+        if (completedParts != null) {
+            System.arraycopy(completedParts, 0, completed, 0, Math.min(completedParts.length, completed.length));
+        }
+        return completed;
+    }
+
+    /**
+     * Sets the length of the destination file to the length of the object,
+     * after checking that the parts already written by a paused download are
+     * still there, and accounts for those parts in the progress.
+     */
+    private void allocateDestinationFile(long[] completed, int partCount) {
+        final long objectLength = download.getObjectMetadata().getContentLength();
+        RandomAccessFile raf = null;
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile);
+        }
+
+        try {
+            long bytesCompleted = 0;
+            long requiredLength = 0;
+            for (int i = 1; i <= partCount; i++) {
+                if (!isPartCompleted(completed, i)) {
+                    continue;
+                }
+                // Only look up the boundaries of runs of completed parts
+                long firstByte = i == 1 ? 0 : getLastByteInPart(i - 1, objectLength) + 1;
+                int runEnd = i;
+                while (runEnd < partCount && isPartCompleted(completed, runEnd + 1)) {
+                    runEnd++;
+                }
+                long lastByte = getLastByteInPart(runEnd, objectLength);
+                bytesCompleted += lastByte - firstByte + 1;
+                requiredLength = lastByte + 1;
+                i = runEnd;
+            }
+
+            if (dstfile.length() < requiredLength) {
+                throw new SdkClientException(
+                        "File " + dstfile.getAbsolutePath() + " has been modified since last pause.");
+            }
+            raf = new RandomAccessFile(dstfile, "rw");
+            raf.setLength(objectLength);
+            if (bytesCompleted > 0) {
+                download.getProgress().updateProgress(bytesCompleted);
+            }
+        } catch (SdkClientException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SdkClientException("Unable to allocate dstfile " + e.getMessage(), e);
+        } finally {
+            IOUtils.closeQuietly(raf, LOG);
+            FileLocks.unlock(dstfile);
+        }
+    }
+
+    /**
+     * Returns the last byte of the given part or range of the object.
+     */
+    private long getLastByteInPart(int partNumber, long objectLength) {
+        if (downloadRangeSize > 0) {
+            return Math.min(partNumber * downloadRangeSize, objectLength) - 1;
+        }
+        return ServiceUtils.getLastByteInPart(s3, req, partNumber);
+    }
+
+    private static boolean isPartCompleted(long[] completed, int partNumber) {
+        return (completed[(partNumber - 1) >>> 6] & (1L << (partNumber - 1))) != 0;
+    }
+
     /**
      * If only partial part object is merged into the dstFile(due to pause
      * operation), adjust the file length so that the part starts writing from
@@ -75,9 +75,31 @@ public final class PersistableDownload extends PersistableTransfer {
     @JsonProperty
     private final long lastModifiedTime;
 
+    /**
+     * Bitmap of the parts that have been written in place into the downloaded file, bit i - 1
+     * standing for part i. Null unless parts are written in place.
+     */
+    @JsonProperty
+    private final long[] completedParts;
+
+    /**
+     * The size of the ranges the object is downloaded in, in place, when the object was not
+     * uploaded with a multipart upload. The bits of the completed parts then stand for ranges.
+     * 0 unless the object is downloaded in ranges.
+     */
+    @JsonProperty
+    private final long downloadRangeSize;
+
 
     public PersistableDownload() {
-        this(null, null, null, null, null, false, null, null, 0L);
+        this(null, null, null, null, null, false, null, null, 0L, null, 0L);
+    }
+
+    public PersistableDownload(String bucketName, String key, String versionId, long[] range,
+            ResponseHeaderOverrides responseHeaders, boolean isRequesterPays, String file,
+            Integer lastFullyDownloadedPartNumber, long lastModifiedTime) {
+        this(bucketName, key, versionId, range, responseHeaders, isRequesterPays, file,
+                lastFullyDownloadedPartNumber, lastModifiedTime, null, 0L);
     }
 
     public PersistableDownload(
@@ -89,7 +111,9 @@ public final class PersistableDownload extends PersistableTransfer {
             @JsonProperty(value = "isRequesterPays") boolean isRequesterPays,
             @JsonProperty(value = "file") String file,
             @JsonProperty(value = "lastFullyDownloadedPartNumber") Integer lastFullyDownloadedPartNumber,
-            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime) {
+            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime,
+            @JsonProperty(value = "completedParts") long[] completedParts,
+            @JsonProperty(value = "downloadRangeSize") long downloadRangeSize) {
         this.bucketName = bucketName;
         this.key = key;
         this.versionId = versionId;
@@ -99,6 +123,8 @@ public final class PersistableDownload extends PersistableTransfer {
         this.file = file;
         this.lastFullyDownloadedPartNumber = lastFullyDownloadedPartNumber;
         this.lastModifiedTime = lastModifiedTime;
+        this.completedParts = completedParts == null ? null : completedParts.clone();
+        this.downloadRangeSize = downloadRangeSize;
     }
 
     /**
@@ -169,4 +195,20 @@ public final class PersistableDownload extends PersistableTransfer {
     Long getlastModifiedTime() {
         return lastModifiedTime;
     }
+
+    /**
+     * Returns the bitmap of the parts that were written in place into the
+     * downloaded file, or null if parts are not written in place.
+     */
+    long[] getCompletedParts() {
+        return completedParts == null ? null : completedParts.clone();
+    }
+
+    /**
+     * Returns the size of the ranges the object is downloaded in, or 0 if the
+     * object is not downloaded in ranges.
+     */
+    long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
 }
@@ -1022,6 +1022,29 @@ public class TransferManager {
             final Integer lastFullyDownloadedPart,
             final long lastModifiedTimeRecordedDuringPause,
             final boolean resumeOnRetry)
+    {
+        return doDownload(getObjectRequest, file, stateListener, s3progressListener,
+                resumeExistingDownload, timeoutMillis, lastFullyDownloadedPart,
+                lastModifiedTimeRecordedDuringPause, resumeOnRetry, null, 0L);
+    }
+
+    /**
+     * Same as public interface, but adds a state listener so that callers can
+     * be notified of state changes to the download, and the parts or ranges
+     * already written in place by a paused download.
+     *
+     * @see TransferManager#download(GetObjectRequest, File)
+     */
+    private Download doDownload(final GetObjectRequest getObjectRequest,
+            final File file, final TransferStateChangeListener stateListener,
+            final S3ProgressListener s3progressListener,
+            final boolean resumeExistingDownload,
+            final long timeoutMillis,
+            final Integer lastFullyDownloadedPart,
+            final long lastModifiedTimeRecordedDuringPause,
+            final boolean resumeOnRetry,
+            final long[] completedParts,
+            final long downloadRangeSizeRecordedDuringPause)
     {
         assertParameterNotNull(getObjectRequest,
                 "A valid GetObjectRequest must be provided to initiate download");
@@ -1066,12 +1089,24 @@ public class TransferManager {
         }
 
         final long origStartingByte = startingByte;
-        final boolean isDownloadParallel = !configuration.isDisableParallelDownloads()
+        // Parts or ranges written in place by a paused download can only be
+        // resumed in place, even if parallel downloads have been disabled since
+        final boolean resumeInPlace = completedParts != null || downloadRangeSizeRecordedDuringPause > 0;
+        final boolean isDownloadParallel = (resumeInPlace || !configuration.isDisableParallelDownloads())
                 && TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest, ServiceUtils.getPartCount(getObjectRequest, s3));
 
+        // Objects not uploaded with a multipart upload can be downloaded in
+        // parallel ranges instead of parts. A paused download keeps its ranges.
+        final long rangeSize = downloadRangeSizeRecordedDuringPause > 0
+                ? downloadRangeSizeRecordedDuringPause : configuration.getDownloadRangeSize();
+        final long downloadRangeSize = !isDownloadParallel
+                && (resumeInPlace || !configuration.isDisableParallelDownloads())
+                && TransferManagerUtils.isDownloadRangeParallelizable(s3, getObjectRequest,
+                        objectMetadata.getContentLength(), rangeSize) ? rangeSize : 0;
+
         // We still pass the unfiltered listener chain into DownloadImpl
         final DownloadImpl download = new DownloadImpl(description, transferProgress, listenerChain, null,
-                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel);
+                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel, downloadRangeSize);
 
         long totalBytesToDownload = lastByte - startingByte + 1;
         transferProgress.setTotalBytesToTransfer(totalBytesToDownload);
@@ -1086,7 +1121,8 @@ public class TransferManager {
         // In addition, we only set the range if the download was *NOT*
         // determined to be parallelizable above. One of the conditions for
         // parallel downloads is that getRange() returns null so preserve that.
-        if (totalBytesToDownload > 0 && !isDownloadParallel) {
+        // The same goes for parallel ranged downloads.
+        if (totalBytesToDownload > 0 && !isDownloadParallel && downloadRangeSize == 0) {
             getObjectRequest.withRange(startingByte, lastByte);
         }
 
@@ -1101,7 +1137,7 @@ public class TransferManager {
             // is in flight. Set this header so S3 fails the request if this happens.
             getObjectRequest.setUnmodifiedSinceConstraint(new Date(lastModifiedTime));
 
-            if (!isDownloadParallel) {
+            if (!isDownloadParallel && downloadRangeSize == 0) {
                 if (!FileLocks.lock(file)) {
                     throw new FileLockException("Fail to lock " + file + " for resume download");
                 }
@@ -1135,7 +1171,9 @@ public class TransferManager {
             new DownloadCallable(s3, latch,
                 getObjectRequest, resumeExistingDownload,
                 download, file, origStartingByte, fileLength, timeoutMillis, timedThreadPool,
-                executorService, lastFullyDownloadedPart, isDownloadParallel, resumeOnRetry));
+                executorService, lastFullyDownloadedPart, isDownloadParallel, resumeOnRetry,
+                configuration.isDownloadPartsInPlace(), completedParts,
+                downloadRangeSize, configuration.getDownloadRangeConcurrency()));
         download.setMonitor(new DownloadMonitor(download, future));
         latch.countDown();
         return download;
@@ -2000,7 +2038,9 @@ public class TransferManager {
         return doDownload(request, new File(persistableDownload.getFile()), null, null,
                 APPEND_MODE, 0,
                 persistableDownload.getLastFullyDownloadedPartNumber(),
-                persistableDownload.getlastModifiedTime());
+                persistableDownload.getlastModifiedTime(), false,
+                persistableDownload.getCompletedParts(),
+                persistableDownload.getDownloadRangeSize());
     }
 
     /**
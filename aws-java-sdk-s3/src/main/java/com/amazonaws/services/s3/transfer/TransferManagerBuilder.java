@@ -56,6 +56,16 @@ public final class TransferManagerBuilder {
 
     private Boolean disableParallelDownloads;
 
+    private Boolean downloadPartsInPlace;
+
+    private Long downloadRangeSize;
+
+    private Integer downloadRangeConcurrency;
+
+    private Integer streamUploadPartBuffers;
+
+    private Boolean streamUploadDirectBuffers;
+
     /**
      * @return Create new instance of builder with all defaults set.
      */
@@ -401,6 +411,190 @@ public final class TransferManagerBuilder {
         return withDisableParallelDownloads(Boolean.TRUE);
     }
 
+    /**
+     * Returns true if parallel downloads write each part in place in the destination file.
+     *
+     * @return true if parts of parallel downloads are written in place, otherwise false.
+     * @see #setDownloadPartsInPlace(Boolean)
+     */
+    public Boolean isDownloadPartsInPlace() {
+        return downloadPartsInPlace;
+    }
+
+    /**
+     * Sets the option to write the parts of parallel downloads in place in the destination file.
+     * By default, the value is set to false.
+     *
+     * <p>
+     * When enabled, the destination file is allocated to the size of the object up front and each
+     * part is written at its offset in the file as soon as it is downloaded, instead of going
+     * through a temporary file that is then appended to the destination file. Each byte is written
+     * to disk once, and no temporary disk space is needed.
+     * </p>
+     *
+     * @param downloadPartsInPlace boolean value to write the parts of parallel downloads in place.
+     */
+    public void setDownloadPartsInPlace(Boolean downloadPartsInPlace) {
+        this.downloadPartsInPlace = downloadPartsInPlace;
+    }
+
+    /**
+     * Sets the option to write the parts of parallel downloads in place in the destination file,
+     * see {@link #setDownloadPartsInPlace(Boolean)}.
+     *
+     * @param downloadPartsInPlace boolean value to write the parts of parallel downloads in place.
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder withDownloadPartsInPlace(Boolean downloadPartsInPlace) {
+        setDownloadPartsInPlace(downloadPartsInPlace);
+        return this;
+    }
+
+    /**
+     * Writes the parts of parallel downloads in place in the destination file, see {@link
+     * #setDownloadPartsInPlace(Boolean)}.
+     *
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder downloadPartsInPlace() {
+        return withDownloadPartsInPlace(Boolean.TRUE);
+    }
+
+    /**
+     * @return The download range size currently configured in the builder.
+     */
+    public Long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Sets the size in bytes of the ranges that objects not uploaded with a multipart upload are
+     * downloaded in, in parallel. By default, the value is set to 0, which downloads such objects
+     * on a single connection.
+     *
+     * <p>
+     * When set, objects larger than the range size that were uploaded with a single request, or
+     * copied, are downloaded with parallel ranged GET requests constrained to the ETag of the
+     * object, and each range is written in place in the destination file.
+     * </p>
+     *
+     * @param downloadRangeSize The size in bytes of the ranges of parallel ranged downloads.
+     */
+    public void setDownloadRangeSize(Long downloadRangeSize) {
+        this.downloadRangeSize = downloadRangeSize;
+    }
+
+    /**
+     * Sets the size in bytes of the ranges that objects not uploaded with a multipart upload are
+     * downloaded in, in parallel, see {@link #setDownloadRangeSize(Long)}.
+     *
+     * @param downloadRangeSize The size in bytes of the ranges of parallel ranged downloads.
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder withDownloadRangeSize(Long downloadRangeSize) {
+        setDownloadRangeSize(downloadRangeSize);
+        return this;
+    }
+
+    /**
+     * @return The download range concurrency currently configured in the builder.
+     */
+    public Integer getDownloadRangeConcurrency() {
+        return downloadRangeConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of ranges of a single download fetched at the same time. By
+     * default, the value is set to 10.
+     *
+     * @param downloadRangeConcurrency The maximum number of ranges of a single download fetched
+     *            at the same time.
+     */
+    public void setDownloadRangeConcurrency(Integer downloadRangeConcurrency) {
+        this.downloadRangeConcurrency = downloadRangeConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of ranges of a single download fetched at the same time, see
+     * {@link #setDownloadRangeConcurrency(Integer)}.
+     *
+     * @param downloadRangeConcurrency The maximum number of ranges of a single download fetched
+     *            at the same time.
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder withDownloadRangeConcurrency(Integer downloadRangeConcurrency) {
+        setDownloadRangeConcurrency(downloadRangeConcurrency);
+        return this;
+    }
+
+    /**
+     * @return The number of part buffers of parallel InputStream uploads currently configured in
+     *         the builder.
+     */
+    public Integer getStreamUploadPartBuffers() {
+        return streamUploadPartBuffers;
+    }
+
+    /**
+     * Sets the number of in-memory part buffers used to upload the parts of an InputStream in
+     * parallel. By default, the value is set to 0, which uploads such parts one at a time.
+     *
+     * <p>
+     * When set, the parts of an InputStream of known length are read into a bounded pool of
+     * buffers and up to that many parts are uploaded concurrently. Reading the stream waits for
+     * a part to be uploaded whenever all the buffers are in use.
+     * </p>
+     *
+     * @param streamUploadPartBuffers The number of part buffers of parallel InputStream uploads.
+     */
+    public void setStreamUploadPartBuffers(Integer streamUploadPartBuffers) {
+        this.streamUploadPartBuffers = streamUploadPartBuffers;
+    }
+
+    /**
+     * Sets the number of in-memory part buffers used to upload the parts of an InputStream in
+     * parallel, see {@link #setStreamUploadPartBuffers(Integer)}.
+     *
+     * @param streamUploadPartBuffers The number of part buffers of parallel InputStream uploads.
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder withStreamUploadPartBuffers(Integer streamUploadPartBuffers) {
+        setStreamUploadPartBuffers(streamUploadPartBuffers);
+        return this;
+    }
+
+    /**
+     * Returns true if the part buffers of parallel InputStream uploads are allocated off-heap.
+     *
+     * @return true if the part buffers of parallel InputStream uploads are off-heap.
+     * @see #setStreamUploadDirectBuffers(Boolean)
+     */
+    public Boolean isStreamUploadDirectBuffers() {
+        return streamUploadDirectBuffers;
+    }
+
+    /**
+     * Sets the option to allocate the part buffers of parallel InputStream uploads off-heap, see
+     * {@link #setStreamUploadPartBuffers(Integer)}. By default, the value is set to false.
+     *
+     * @param streamUploadDirectBuffers boolean value to allocate the part buffers off-heap.
+     */
+    public void setStreamUploadDirectBuffers(Boolean streamUploadDirectBuffers) {
+        this.streamUploadDirectBuffers = streamUploadDirectBuffers;
+    }
+
+    /**
+     * Sets the option to allocate the part buffers of parallel InputStream uploads off-heap, see
+     * {@link #setStreamUploadDirectBuffers(Boolean)}.
+     *
+     * @param streamUploadDirectBuffers boolean value to allocate the part buffers off-heap.
+     * @return This object for method chaining
+     */
+    public TransferManagerBuilder withStreamUploadDirectBuffers(Boolean streamUploadDirectBuffers) {
+        setStreamUploadDirectBuffers(streamUploadDirectBuffers);
+        return this;
+    }
+
     private TransferManagerConfiguration resolveConfiguration() {
         TransferManagerConfiguration configuration = new TransferManagerConfiguration();
         if (this.minimumUploadPartSize != null) {
@@ -419,6 +613,21 @@ public final class TransferManagerBuilder {
         if (this.disableParallelDownloads != null) {
             configuration.setDisableParallelDownloads(disableParallelDownloads);
         }
+        if (this.downloadPartsInPlace != null) {
+            configuration.setDownloadPartsInPlace(downloadPartsInPlace);
+        }
+        if (this.downloadRangeSize != null) {
+            configuration.setDownloadRangeSize(downloadRangeSize);
+        }
+        if (this.downloadRangeConcurrency != null) {
+            configuration.setDownloadRangeConcurrency(downloadRangeConcurrency);
+        }
+        if (this.streamUploadPartBuffers != null) {
+            configuration.setStreamUploadPartBuffers(streamUploadPartBuffers);
+        }
+        if (this.streamUploadDirectBuffers != null) {
+            configuration.setStreamUploadDirectBuffers(streamUploadDirectBuffers);
+        }
         return configuration;
     }
 
@@ -45,6 +45,10 @@ public class TransferManagerConfiguration {
     @SdkTestInternalApi
     static final long DEFAULT_MINIMUM_COPY_PART_SIZE = 100 * MB;
 
+    /** Default maximum number of ranges of a single download fetched at the same time. */
+    @SdkTestInternalApi
+    static final int DEFAULT_DOWNLOAD_RANGE_CONCURRENCY = 10;
+
     /**
      * The minimum part size for upload parts. Decreasing the minimum part size
      * will cause multipart uploads to be split into a larger number of smaller
@@ -101,6 +105,35 @@ public class TransferManagerConfiguration {
      */
     private boolean disableParallelDownloads = false;
 
+    /**
+     * Option to write the parts of parallel downloads in place in the destination file, rather
+     * than into temporary files merged once downloaded. By default, the value is set to false.
+     */
+    private boolean downloadPartsInPlace = false;
+
+    /**
+     * The size in bytes of the ranges that objects not uploaded with a multipart upload are
+     * downloaded in, in parallel. By default, the value is set to 0, which downloads such objects
+     * on a single connection.
+     */
+    private long downloadRangeSize = 0;
+
+    /**
+     * The maximum number of ranges of a single download fetched at the same time.
+     */
+    private int downloadRangeConcurrency = DEFAULT_DOWNLOAD_RANGE_CONCURRENCY;
+
+    /**
+     * The number of in-memory part buffers used to upload the parts of an InputStream in
+     * parallel. By default, the value is set to 0, which uploads such parts one at a time.
+     */
+    private int streamUploadPartBuffers = 0;
+
+    /**
+     * Option to allocate the part buffers of parallel InputStream uploads off-heap.
+     */
+    private boolean streamUploadDirectBuffers = false;
+
     /**
      * Returns the minimum part size for upload parts.
      * Decreasing the minimum part size causes
@@ -292,4 +325,152 @@ public class TransferManagerConfiguration {
     public void setDisableParallelDownloads(boolean disableParallelDownloads) {
         this.disableParallelDownloads = disableParallelDownloads;
     }
+
+    /**
+     * Returns true if parallel downloads write each part in place in the destination file.
+     *
+     * @return true if parts of parallel downloads are written in place, otherwise false.
+     * @see #setDownloadPartsInPlace(boolean)
+     */
+    public boolean isDownloadPartsInPlace() {
+        return downloadPartsInPlace;
+    }
+
+    /**
+     * Sets the option to write the parts of parallel downloads in place in the destination file.
+     * By default, the value is set to false.
+     *
+     * <p>
+     * When enabled, the destination file is allocated to the size of the object up front and each
+     * part is written at its offset in the file as soon as it is downloaded, instead of going
+     * through a temporary file that is then appended to the destination file. Each byte is written
+     * to disk once, and no temporary disk space is needed.
+     * </p>
+     * <p>
+     * Paused downloads keep track of the parts already written, and only download the remaining
+     * parts when resumed.
+     * </p>
+     *
+     * @param downloadPartsInPlace boolean value to write the parts of parallel downloads in place.
+     */
+    public void setDownloadPartsInPlace(boolean downloadPartsInPlace) {
+        this.downloadPartsInPlace = downloadPartsInPlace;
+    }
+
+    /**
+     * Returns the size in bytes of the ranges that objects not uploaded with a multipart upload
+     * are downloaded in, in parallel, or 0 if such objects are downloaded on a single connection.
+     *
+     * @return The size in bytes of the ranges of parallel ranged downloads.
+     * @see #setDownloadRangeSize(long)
+     */
+    public long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Sets the size in bytes of the ranges that objects not uploaded with a multipart upload are
+     * downloaded in, in parallel. By default, the value is set to 0, which downloads such objects
+     * on a single connection.
+     *
+     * <p>
+     * TransferManager only downloads multipart objects in parallel, one part at a time. When this
+     * option is set, objects larger than the range size that were uploaded with a single request,
+     * or copied, are downloaded with parallel ranged GET requests instead. Each range is written
+     * in place in the destination file, and every request is constrained to the ETag of the object
+     * when the download started, so the download fails rather than mixing the bytes of two
+     * versions of the object if it is overwritten in the meantime.
+     * </p>
+     * <p>
+     * Parallel ranged downloads are not used when parallel downloads are disabled, when the
+     * request sets a range or a part number, or with the encryption client.
+     * </p>
+     *
+     * @param downloadRangeSize The size in bytes of the ranges of parallel ranged downloads, or 0
+     *            to download objects not uploaded with a multipart upload on a single connection.
+     */
+    public void setDownloadRangeSize(long downloadRangeSize) {
+        this.downloadRangeSize = downloadRangeSize;
+    }
+
+    /**
+     * Returns the maximum number of ranges of a single download fetched at the same time.
+     *
+     * @return The maximum number of ranges of a single download fetched at the same time.
+     * @see #setDownloadRangeSize(long)
+     */
+    public int getDownloadRangeConcurrency() {
+        return downloadRangeConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of ranges of a single download fetched at the same time, see
+     * {@link #setDownloadRangeSize(long)}. By default, the value is set to 10. The ranges are
+     * fetched by the thread pool of the TransferManager, so the effective concurrency is also
+     * bounded by the size of the pool.
+     *
+     * @param downloadRangeConcurrency The maximum number of ranges of a single download fetched
+     *            at the same time.
+     */
+    public void setDownloadRangeConcurrency(int downloadRangeConcurrency) {
+        this.downloadRangeConcurrency = downloadRangeConcurrency;
+    }
+
+    /**
+     * Returns the number of in-memory part buffers used to upload the parts of an InputStream in
+     * parallel, or 0 if such parts are uploaded one at a time.
+     *
+     * @return The number of part buffers of parallel InputStream uploads.
+     * @see #setStreamUploadPartBuffers(int)
+     */
+    public int getStreamUploadPartBuffers() {
+        return streamUploadPartBuffers;
+    }
+
+    /**
+     * Sets the number of in-memory part buffers used to upload the parts of an InputStream in
+     * parallel. By default, the value is set to 0, which uploads such parts one at a time.
+     *
+     * <p>
+     * Multipart uploads of files upload several parts at the same time, but an InputStream can
+     * only be read sequentially, so its parts are uploaded one after the other. When this option
+     * is set, the parts of an InputStream of known length are read into a bounded pool of buffers
+     * and up to that many parts are uploaded concurrently. Reading the stream waits for a part
+     * to be uploaded whenever all the buffers are in use, so an upload holds at most
+     * {@code streamUploadPartBuffers} parts in memory. Budget for that many times the part size,
+     * see {@link #setMinimumUploadPartSize(long)}.
+     * </p>
+     * <p>
+     * Uploads through the encryption client are not affected, and uploads of InputStreams in
+     * parallel cannot be paused.
+     * </p>
+     *
+     * @param streamUploadPartBuffers The number of part buffers of parallel InputStream uploads,
+     *            or 0 to upload the parts of InputStreams one at a time.
+     */
+    public void setStreamUploadPartBuffers(int streamUploadPartBuffers) {
+        this.streamUploadPartBuffers = streamUploadPartBuffers;
+    }
+
+    /**
+     * Returns true if the part buffers of parallel InputStream uploads are allocated off-heap.
+     *
+     * @return true if the part buffers of parallel InputStream uploads are off-heap.
+     * @see #setStreamUploadDirectBuffers(boolean)
+     */
+    public boolean isStreamUploadDirectBuffers() {
+        return streamUploadDirectBuffers;
+    }
+
+    /**
+     * Sets the option to allocate the part buffers of parallel InputStream uploads off-heap, see
+     * {@link #setStreamUploadPartBuffers(int)}. By default, the value is set to false. Off-heap
+     * buffers keep large parts out of the garbage collected heap, but count against the maximum
+     * direct memory of the JVM instead.
+     *
+     * @param streamUploadDirectBuffers boolean value to allocate the part buffers off-heap.
+     */
+    public void setStreamUploadDirectBuffers(boolean streamUploadDirectBuffers) {
+        this.streamUploadDirectBuffers = streamUploadDirectBuffers;
+    }
 }
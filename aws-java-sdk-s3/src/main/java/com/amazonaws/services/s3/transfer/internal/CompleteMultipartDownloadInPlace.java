@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer.internal;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.services.s3.transfer.Transfer;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Helper class to wait for all the parts written in place into a destinationFile.
+ */
+@SdkInternalApi
+public class CompleteMultipartDownloadInPlace implements Callable<File> {
+    private final List<Future<File>> parts;
+    private final File destinationFile;
+    private final DownloadImpl download;
+
+    public CompleteMultipartDownloadInPlace(List<Future<File>> parts, File destinationFile, DownloadImpl download) {
+        this.parts = parts;
+        this.destinationFile = destinationFile;
+        this.download = download;
+    }
+
+    @Override
+    public File call() throws Exception {
+        for (Future<File> part : parts) {
+            part.get();
+        }
+
+        download.setState(Transfer.TransferState.Completed);
+        return destinationFile;
+    }
+}
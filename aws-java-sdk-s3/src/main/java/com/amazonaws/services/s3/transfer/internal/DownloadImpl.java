@@ -16,6 +16,7 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.event.ProgressEventType;
@@ -41,6 +42,19 @@ public class DownloadImpl extends AbstractTransfer implements Download {
      */
     private Integer lastFullyDownloadedPartNumber;
 
+    /**
+     * Bitmap of the parts that have been written in place into the downloaded file, bit i - 1
+     * standing for part i. Null unless parts are written in place.
+     */
+    private long[] completedParts;
+
+    /**
+     * The size of the ranges the object is downloaded in, in place, or 0 if
+     * the object is not downloaded in ranges. When set, the bits of the
+     * completed parts stand for ranges.
+     */
+    private final long downloadRangeSize;
+
     private final GetObjectRequest getObjectRequest;
     private final File file;
     private final ObjectMetadata objectMetadata;
@@ -58,12 +72,21 @@ public class DownloadImpl extends AbstractTransfer implements Download {
             ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
             GetObjectRequest getObjectRequest, File file,
             ObjectMetadata objectMetadata, boolean isDownloadParallel) {
+        this(description, transferProgress, progressListenerChain, s3Object, listener,
+                getObjectRequest, file, objectMetadata, isDownloadParallel, 0L);
+    }
+
+    public DownloadImpl(String description, TransferProgress transferProgress,
+            ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
+            GetObjectRequest getObjectRequest, File file,
+            ObjectMetadata objectMetadata, boolean isDownloadParallel, long downloadRangeSize) {
         super(description, transferProgress, progressListenerChain, listener);
         this.s3Object = s3Object;
         this.objectMetadata = objectMetadata;
         this.getObjectRequest = getObjectRequest;
         this.file = file;
         this.progressListenerChain = progressListenerChain;
+        this.downloadRangeSize = downloadRangeSize;
         this.persistableDownload = captureDownloadState(getObjectRequest, file);
         S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
     }
@@ -114,6 +137,62 @@ public class DownloadImpl extends AbstractTransfer implements Download {
         S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
     }
 
+    /**
+     * Only for internal use.
+     * For parallel downloads writing parts in place, sets the bitmap of the
+     * parts already written into the download file, bit i - 1 standing for
+     * part i. Then notify the listeners that new persistableTransfer is
+     * available.
+     */
+    @SdkInternalApi
+    public void setCompletedParts(long[] completedParts) {
+        synchronized (this) {
+            this.completedParts = completedParts.clone();
+        }
+
+        persistableDownload = captureDownloadState(getObjectRequest, file);
+        S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
+    }
+
+    /**
+     * Only for internal use.
+     * For parallel downloads writing parts in place, records that the given
+     * part has been written into the download file. Then notify the listeners
+     * that new persistableTransfer is available.
+     */
+    @SdkInternalApi
+    public void markPartCompleted(int partNumber) {
+        synchronized (this) {
+            final int index = (partNumber - 1) >>> 6;
+            if (completedParts == null) {
+                completedParts = new long[index + 1];
+            } else if (completedParts.length <= index) {
+                completedParts = Arrays.copyOf(completedParts, index + 1);
+            }
+            completedParts[index] |= 1L << (partNumber - 1);
+        }
+
+        persistableDownload = captureDownloadState(getObjectRequest, file);
+        S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
+    }
+
+    /**
+     * For parallel downloads writing parts in place, returns the bitmap of
+     * the parts written into the download file, bit i - 1 standing for part i.
+     * Returns null otherwise.
+     */
+    public synchronized long[] getCompletedParts() {
+        return completedParts == null ? null : completedParts.clone();
+    }
+
+    /**
+     * Returns the size of the ranges the object is downloaded in, in place,
+     * or 0 if the object is not downloaded in ranges.
+     */
+    public long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
     /**
      * For parallel downloads, returns the last part number that was
      * successfully written into the download file.
@@ -190,7 +269,8 @@ public class DownloadImpl extends AbstractTransfer implements Download {
                     getObjectRequest.getVersionId(), getObjectRequest.getRange(),
                     getObjectRequest.getResponseHeaders(), getObjectRequest.isRequesterPays(),
                     file.getAbsolutePath(), getLastFullyDownloadedPartNumber(),
-                    getObjectMetadata().getLastModified().getTime());
+                    getObjectMetadata().getLastModified().getTime(), getCompletedParts(),
+                    downloadRangeSize);
         }
         return null;
     }
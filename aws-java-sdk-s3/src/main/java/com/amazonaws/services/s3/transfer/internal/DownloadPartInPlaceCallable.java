@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer.internal;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.util.IOUtils;
+
+/**
+ * Helper class to get a part from s3 and
+ * write the part data in place, at the offset of the part,
+ * into the destination file.
+ */
+@SdkInternalApi
+public class DownloadPartInPlaceCallable implements Callable<File> {
+    private static final Log LOG = LogFactory.getLog(DownloadPartInPlaceCallable.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3;
+    private final GetObjectRequest getPartRequest;
+    private final int partNumber;
+    private final File destinationFile;
+    private final DownloadImpl download;
+    private final String expectedETag;
+
+    public DownloadPartInPlaceCallable(AmazonS3 s3, GetObjectRequest getPartRequest, File destinationFile,
+            DownloadImpl download) {
+        this(s3, getPartRequest, getPartRequest.getPartNumber(), destinationFile, download, null);
+    }
+
+    /**
+     * @param partNumber
+     *            The number of the part or range in the bitmap of completed
+     *            parts of the download.
+     * @param expectedETag
+     *            The ETag the response must have, or null to not check it.
+     */
+    public DownloadPartInPlaceCallable(AmazonS3 s3, GetObjectRequest getPartRequest, int partNumber,
+            File destinationFile, DownloadImpl download, String expectedETag) {
+        this.s3 = s3;
+        this.getPartRequest = getPartRequest;
+        this.partNumber = partNumber;
+        this.destinationFile = destinationFile;
+        this.download = download;
+        this.expectedETag = expectedETag;
+    }
+
+    public File call() throws Exception {
+        S3Object s3Object = s3.getObject(getPartRequest);
+        if (s3Object == null) {
+            if (expectedETag != null) {
+                throw new SdkClientException("The object " + getPartRequest.getKey()
+                        + " has been modified in S3 since the download of " + destinationFile.getAbsolutePath()
+                        + " started: its ETag no longer matches " + expectedETag);
+            }
+            throw new SdkClientException(
+                    "There is no object in S3 satisfying this request. The getObject method returned null");
+        }
+
+        S3ObjectInputStream content = s3Object.getObjectContent();
+        RandomAccessFile raf = null;
+        boolean success = false;
+        try {
+            String eTag = s3Object.getObjectMetadata().getETag();
+            if (expectedETag != null && !expectedETag.equals(eTag)) {
+                throw new SdkClientException("The object " + getPartRequest.getKey()
+                        + " has been modified in S3 since the download of " + destinationFile.getAbsolutePath()
+                        + " started: expected ETag " + expectedETag + " but got " + eTag);
+            }
+            Long[] range = s3Object.getObjectMetadata().getContentRange();
+            if (range == null) {
+                throw new SdkClientException("Unable to determine the position of part " + partNumber
+                        + ": the response has no Content-Range header");
+            }
+            // Each part gets its own channel, positional writes to distinct
+            // regions of the file don't need to be synchronized
+            raf = new RandomAccessFile(destinationFile, "rw");
+            FileChannel channel = raf.getChannel();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long position = range[0];
+            int bytesRead;
+            while ((bytesRead = content.read(buffer)) > -1) {
+                byteBuffer.clear();
+                byteBuffer.limit(bytesRead);
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+            }
+            if (position != range[1] + 1) {
+                throw new SdkClientException("Part " + partNumber + " of " + destinationFile.getAbsolutePath()
+                        + " is incomplete: expected to write up to byte " + range[1] + " but wrote up to byte "
+                        + (position - 1));
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                content.abort();
+            }
+            IOUtils.closeQuietly(content, LOG);
+            IOUtils.closeQuietly(raf, LOG);
+        }
+
+        download.markPartCompleted(partNumber);
+        return destinationFile;
+    }
+}
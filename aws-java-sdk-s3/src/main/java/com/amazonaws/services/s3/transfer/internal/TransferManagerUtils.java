@@ -17,12 +17,17 @@ package com.amazonaws.services.s3.transfer.internal;
 import static com.amazonaws.services.s3.internal.Constants.MAXIMUM_UPLOAD_PARTS;
 
 import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Encryption;
+import com.amazonaws.services.s3.AmazonS3EncryptionClient;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -75,6 +80,70 @@ public class TransferManagerUtils {
         return (getRequestFile(putObjectRequest) != null);
     }
 
+    /**
+     * Returns true if the specified client can upload the parts of a multipart
+     * upload concurrently on the specified executor: either it is not an
+     * encryption client, or it is one configured to encrypt concurrent parts
+     * in order and the executor runs tasks in the order they are submitted.
+     * Parts waiting for the encryption of a previous part would otherwise hold
+     * the threads the previous part needs to run.
+     *
+     * @param s3
+     *            The Amazon s3 client.
+     * @param executor
+     *            The executor the parts are submitted to.
+     *
+     * @return True if the client can upload parts concurrently.
+     */
+    public static boolean isParallelPartUploadSupported(final AmazonS3 s3,
+            final ExecutorService executor) {
+        if (s3 instanceof AmazonS3EncryptionClient) {
+            return ((AmazonS3EncryptionClient) s3).isParallelPartUploads()
+                    && isFifoExecutor(executor);
+        }
+        return !(s3 instanceof AmazonS3Encryption);
+    }
+
+    /**
+     * Returns true if the executor is a thread pool backed by one of the
+     * standard FIFO work queues.
+     */
+    private static boolean isFifoExecutor(final ExecutorService executor) {
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            return false;
+        }
+        Class<?> queueClass = ((ThreadPoolExecutor) executor).getQueue().getClass();
+        return queueClass == LinkedBlockingQueue.class
+                || queueClass == ArrayBlockingQueue.class
+                || queueClass == SynchronousQueue.class;
+    }
+
+    /**
+     * Returns true if the parts of the InputStream of the specified upload
+     * request can be read into a pool of part buffers and uploaded in parallel.
+     *
+     * @param putObjectRequest
+     *            The request to check.
+     * @param isUsingEncryption
+     *            True if the upload uses client side encryption.
+     * @param configuration
+     *            The configuration of the TransferManager.
+     * @param partSize
+     *            The size of the parts of the upload.
+     *
+     * @return True if the parts of this request can be buffered and uploaded
+     *         in parallel.
+     */
+    public static boolean isStreamUploadParallelizable(final PutObjectRequest putObjectRequest,
+            final boolean isUsingEncryption, TransferManagerConfiguration configuration, long partSize) {
+        // Encrypted upload parts depend on the previous ones, see isUploadParallelizable
+        if (isUsingEncryption || getRequestFile(putObjectRequest) != null) return false;
+
+        return putObjectRequest.getInputStream() != null
+                && configuration.getStreamUploadPartBuffers() > 0
+                && partSize <= Integer.MAX_VALUE;
+    }
+
     /**
      * Returns the size of the data in this request, otherwise -1 if the content
      * length is unknown.
@@ -211,4 +280,35 @@ public class TransferManagerUtils {
         }
         return true;
     }
+
+    /**
+     * Returns true if the specified download request of an object not
+     * uploaded with a multipart upload can use parallel ranged downloads for
+     * increased performance.
+     *
+     * @param s3
+     *            The Amazon s3 client.
+     *
+     * @param getObjectRequest
+     *            The request to check.
+     *
+     * @param contentLength
+     *            The length of the object.
+     *
+     * @param downloadRangeSize
+     *            The size of the ranges, 0 to disable ranged downloads.
+     *
+     * @return True if this request can use parallel ranged downloads.
+     */
+    public static boolean isDownloadRangeParallelizable(final AmazonS3 s3, final GetObjectRequest getObjectRequest,
+            long contentLength, long downloadRangeSize) {
+        ValidationUtils.assertNotNull(s3, "S3 client");
+        ValidationUtils.assertNotNull(getObjectRequest, "GetObjectRequest");
+
+        if (s3 instanceof AmazonS3Encryption || getObjectRequest.getRange() != null
+                || getObjectRequest.getPartNumber() != null || downloadRangeSize <= 0) {
+            return false;
+        }
+        return contentLength > downloadRangeSize;
+    }
 }
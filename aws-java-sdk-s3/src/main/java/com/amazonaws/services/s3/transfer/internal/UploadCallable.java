@@ -16,25 +16,34 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import com.amazonaws.services.s3.model.ObjectTagging;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.SdkClientException;
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Encryption;
+import com.amazonaws.services.s3.internal.ByteBufferInputStream;
+import com.amazonaws.services.s3.internal.PartBufferPool;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
@@ -63,6 +72,7 @@ public class UploadCallable implements Callable<UploadResult> {
     private final UploadImpl upload;
 
     private static final Log log = LogFactory.getLog(UploadCallable.class);
+    private static final int STREAM_READ_CHUNK_SIZE = 64 * 1024;
     private final TransferManagerConfiguration configuration;
     private final List<Future<PartETag>> futures = new ArrayList<Future<PartETag>>();
     private final ProgressListenerChain listener;
@@ -183,10 +193,21 @@ public class UploadCallable implements Callable<UploadResult> {
 
             UploadPartRequestFactory requestFactory = new UploadPartRequestFactory(origReq, multipartUploadId, optimalPartSize);
 
-            if (TransferManagerUtils.isUploadParallelizable(origReq, isUsingEncryption)) {
-                captureUploadStateIfPossible();
+            // Encrypted parts are uploaded in series, unless the encryption client encrypts
+            // concurrent parts in order itself and the thread pool runs them in order
+            boolean isUploadingInSeries = isUsingEncryption
+                    && !TransferManagerUtils.isParallelPartUploadSupported(s3, threadPool);
+            if (TransferManagerUtils.isUploadParallelizable(origReq, isUploadingInSeries)) {
+                // The encryption context of an upload can't be resumed
+                if (!isUsingEncryption) {
+                    captureUploadStateIfPossible();
+                }
                 uploadPartsInParallel(requestFactory, multipartUploadId);
                 return null;
+            } else if (TransferManagerUtils.isStreamUploadParallelizable(origReq, isUsingEncryption,
+                    configuration, optimalPartSize)) {
+                uploadStreamPartsInParallel(requestFactory, (int) optimalPartSize);
+                return null;
             } else {
                 return uploadPartsInSeries(requestFactory);
             }
@@ -296,6 +317,118 @@ public class UploadCallable implements Callable<UploadResult> {
         }
     }
 
+    /**
+     * Reads the parts of the request input stream into a bounded pool of
+     * buffers and submits a callable uploading each part from its buffer to
+     * our thread pool, recording its corresponding Future. When all the
+     * buffers are in use, the oldest part still uploading is awaited, or run in
+     * this thread if no thread of the pool has picked it up yet, so that the
+     * upload keeps making progress even when the thread pool is saturated.
+     */
+    private void uploadStreamPartsInParallel(UploadPartRequestFactory requestFactory, int partSize)
+            throws Exception {
+        final PartBufferPool bufferPool = new PartBufferPool(partSize,
+                configuration.getStreamUploadPartBuffers(), configuration.isStreamUploadDirectBuffers());
+        final Queue<FutureTask<PartETag>> uploadingParts = new LinkedList<FutureTask<PartETag>>();
+        final InputStream inputStream = origReq.getInputStream();
+        final byte[] chunk = new byte[STREAM_READ_CHUNK_SIZE];
+
+        try {
+            while (requestFactory.hasMoreRequests()) {
+                if (threadPool.isShutdown()) throw new CancellationException("TransferManager has been shutdown");
+                uploadingParts.add(submitStreamPart(requestFactory.getNextUploadPartRequest(), bufferPool,
+                        uploadingParts, inputStream, chunk));
+            }
+        } catch (Exception e) {
+            for (Future<PartETag> part : uploadingParts) {
+                part.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next part of the input stream into a buffer of the pool and
+     * submits a task uploading it, waiting for the oldest part still uploading
+     * if all the buffers are in use.
+     */
+    private FutureTask<PartETag> submitStreamPart(final UploadPartRequest request, final PartBufferPool bufferPool,
+            Queue<FutureTask<PartETag>> uploadingParts, InputStream inputStream, byte[] chunk) throws Exception {
+        ByteBuffer buffer;
+        while ((buffer = bufferPool.tryAcquire()) == null) {
+            FutureTask<PartETag> oldest = uploadingParts.poll();
+            if (oldest == null) {
+                buffer = bufferPool.acquire();
+                break;
+            }
+            oldest.run();
+            waitForPart(oldest);
+        }
+
+        readFully(inputStream, buffer, request.getPartSize(), chunk);
+        buffer.flip();
+        request.setInputStream(new ByteBufferInputStream(buffer));
+
+        final ByteBuffer partBuffer = buffer;
+        FutureTask<PartETag> part = new FutureTask<PartETag>(new Callable<PartETag>() {
+            @Override
+            public PartETag call() throws Exception {
+                try {
+                    return new UploadPartCallable(s3, request).call();
+                } finally {
+                    bufferPool.release(partBuffer);
+                }
+            }
+        });
+        futures.add(part);
+        threadPool.execute(part);
+        return part;
+    }
+
+    /**
+     * Waits for the given part to be uploaded, rethrowing the failure of the
+     * part upload if any.
+     */
+    private static void waitForPart(Future<PartETag> part) throws Exception {
+        try {
+            part.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the given number of bytes of the stream into the buffer.
+     */
+    private static void readFully(InputStream inputStream, ByteBuffer buffer, long length, byte[] chunk)
+            throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int bytesRead;
+            if (buffer.hasArray()) {
+                // Heap buffers are read into directly
+                bytesRead = inputStream.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        (int) remaining);
+                if (bytesRead > 0) {
+                    buffer.position(buffer.position() + bytesRead);
+                }
+            } else {
+                bytesRead = inputStream.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (bytesRead > 0) {
+                    buffer.put(chunk, 0, bytesRead);
+                }
+            }
+            if (bytesRead == -1) {
+                throw new SdkClientException("The input stream ended " + remaining
+                        + " bytes before the content length of the upload");
+            }
+            remaining -= bytesRead;
+        }
+    }
+
     private Map<Integer, PartSummary> identifyExistingPartsForResume(
             String uploadId) {
         Map<Integer, PartSummary> partNumbers = new HashMap<Integer, PartSummary>();
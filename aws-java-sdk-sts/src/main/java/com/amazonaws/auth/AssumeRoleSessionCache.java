@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.metrics.LogLinearHistogram;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of assumed role sessions, shared by {@link STSAssumeRoleSessionCredentialsProvider}s
+ * so that providers assuming the same role, with the same STS client, session name, external id,
+ * duration and scope down policy, share a single session and a single refresh of that session.
+ * <p>
+ * When more sessions than the cache can hold are in use, the least recently used ones are evicted
+ * and providers using them start a new session on their next call. The cache also keeps track of
+ * the time taken to start sessions, see {@link #getRefreshLatency()}.
+ * </p>
+ *
+ * <pre>
+ * AssumeRoleSessionCache cache = new AssumeRoleSessionCache(10000);
+ * AWSSessionCredentialsProvider provider =
+ *         new STSAssumeRoleSessionCredentialsProvider.Builder(roleArn, roleSessionName)
+ *                 .withStsClient(sts)
+ *                 .withSessionCache(cache)
+ *                 .build();
+ * </pre>
+ */
+@ThreadSafe
+public class AssumeRoleSessionCache {
+
+    private final int maxSessions;
+
+    private final Map<SessionKey, Session> sessions;
+
+    private final LogLinearHistogram refreshLatency = new LogLinearHistogram();
+
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    /**
+     * @param maxSessions Maximum number of sessions held by the cache.
+     */
+    public AssumeRoleSessionCache(final int maxSessions) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.sessions = new LinkedHashMap<SessionKey, Session>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SessionKey, Session> eldest) {
+                if (size() > maxSessions) {
+                    eldest.getValue().evicted = true;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return Maximum number of sessions held by the cache.
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * @return Number of sessions currently held by the cache.
+     */
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return Distribution of the time, in milliseconds, taken to start the sessions of this cache,
+     *         successfully or not.
+     */
+    public LogLinearHistogram getRefreshLatency() {
+        return refreshLatency;
+    }
+
+    /**
+     * @return Number of failed attempts to start a session.
+     */
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+
+    /**
+     * Returns the session cached under the given key, creating one if there is none. The session
+     * is started and refreshed from the key alone, so that it keeps no provider reachable.
+     */
+    synchronized Session getSession(SessionKey key) {
+        Session session = sessions.get(key);
+        if (session == null) {
+            session = new Session(createRefreshableTask(key));
+            sessions.put(key, session);
+        }
+        return session;
+    }
+
+    /**
+     * Discards the session cached under the given key, if any.
+     */
+    synchronized void invalidate(SessionKey key) {
+        Session session = sessions.remove(key);
+        if (session != null) {
+            session.evicted = true;
+        }
+    }
+
+    private RefreshableTask<SessionCredentialsHolder> createRefreshableTask(final SessionKey key) {
+        return new RefreshableTask.Builder<SessionCredentialsHolder>()
+                .withRefreshCallable(new Callable<SessionCredentialsHolder>() {
+                    @Override
+                    public SessionCredentialsHolder call() throws Exception {
+                        long start = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            SessionCredentialsHolder holder = key.newSession();
+                            success = true;
+                            return holder;
+                        } finally {
+                            refreshLatency.record((System.nanoTime() - start) / 1000000.0);
+                            if (!success) {
+                                refreshFailures.incrementAndGet();
+                            }
+                        }
+                    }
+                })
+                .withBlockingRefreshPredicate(new ShouldDoBlockingSessionRefresh())
+                .withAsyncRefreshPredicate(new ShouldDoAsyncSessionRefresh()).build();
+    }
+
+    /**
+     * Cached session. Providers hold on to it until it is evicted from the cache.
+     */
+    static final class Session {
+        final RefreshableTask<SessionCredentialsHolder> refreshableTask;
+        volatile boolean evicted;
+
+        private Session(RefreshableTask<SessionCredentialsHolder> refreshableTask) {
+            this.refreshableTask = refreshableTask;
+        }
+    }
+
+    /**
+     * Identifies a session by the client used to start it and the parameters of its AssumeRole
+     * request.
+     */
+    static final class SessionKey {
+        private final AWSSecurityTokenService sts;
+        private final String roleArn;
+        private final String roleSessionName;
+        private final String roleExternalId;
+        private final int roleSessionDurationSeconds;
+        private final String scopeDownPolicy;
+
+        SessionKey(AWSSecurityTokenService sts, String roleArn, String roleSessionName,
+                   String roleExternalId, int roleSessionDurationSeconds, String scopeDownPolicy) {
+            this.sts = sts;
+            this.roleArn = roleArn;
+            this.roleSessionName = roleSessionName;
+            this.roleExternalId = roleExternalId;
+            this.roleSessionDurationSeconds = roleSessionDurationSeconds;
+            this.scopeDownPolicy = scopeDownPolicy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SessionKey)) {
+                return false;
+            }
+            SessionKey other = (SessionKey) o;
+            // The client is compared by identity, sessions started with a different client may
+            // carry different permissions
+            return sts == other.sts
+                   && roleSessionDurationSeconds == other.roleSessionDurationSeconds
+                   && roleArn.equals(other.roleArn)
+                   && roleSessionName.equals(other.roleSessionName)
+                   && equal(roleExternalId, other.roleExternalId)
+                   && equal(scopeDownPolicy, other.scopeDownPolicy);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(sts);
+            result = 31 * result + roleArn.hashCode();
+            result = 31 * result + roleSessionName.hashCode();
+            result = 31 * result + (roleExternalId == null ? 0 : roleExternalId.hashCode());
+            result = 31 * result + roleSessionDurationSeconds;
+            return 31 * result + (scopeDownPolicy == null ? 0 : scopeDownPolicy.hashCode());
+        }
+
+        /**
+         * Starts a new session by assuming the role of this key with its STS client.
+         */
+        SessionCredentialsHolder newSession() {
+            AssumeRoleRequest assumeRoleRequest = new AssumeRoleRequest().withRoleArn(roleArn)
+                    .withDurationSeconds(roleSessionDurationSeconds)
+                    .withRoleSessionName(roleSessionName)
+                    .withPolicy(scopeDownPolicy);
+            if (roleExternalId != null) {
+                assumeRoleRequest = assumeRoleRequest.withExternalId(roleExternalId);
+            }
+            AssumeRoleResult assumeRoleResult = sts.assumeRole(assumeRoleRequest);
+            return new SessionCredentialsHolder(assumeRoleResult.getCredentials());
+        }
+
+        private static boolean equal(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
@@ -25,7 +25,9 @@ import com.amazonaws.util.ValidationUtils;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -59,16 +61,16 @@ class RefreshableTask<T> {
     private final AtomicReference<T> refreshableValueHolder = new AtomicReference<T>();
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * Maximum number of threads refreshing values asynchronously, shared by all tasks so that
+     * many tasks don't each hold on to their own thread.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
-	@Override
-	public Thread newThread(Runnable runnable) {
-	    Thread thread = Executors.defaultThreadFactory().newThread(runnable);
-	    thread.setDaemon(true);
-	    return thread;
-	}
-    });
+    private static final int MAX_ASYNC_REFRESH_THREADS = 4;
+
+    /**
+     * Executor shared by all tasks to asynchronously refresh their values. Its daemon threads
+     * exit when idle.
+     */
+    private static final ExecutorService executor = createExecutor();
 
     /**
      * Used to ensure only one thread at any given time refreshes the value.
@@ -269,6 +271,22 @@ class RefreshableTask<T> {
         }
     }
 
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                MAX_ASYNC_REFRESH_THREADS, MAX_ASYNC_REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                        thread.setName("sdk-async-refresh-" + thread.getName());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * If we are interrupted while waiting for a lock we just restore the interrupt status and throw
      * an AmazonClientException back to the caller.
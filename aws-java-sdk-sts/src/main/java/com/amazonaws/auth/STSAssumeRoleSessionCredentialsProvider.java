@@ -77,10 +77,25 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
 
     /**
      * Handles the refreshing of sessions. Ideally this should be final but #setSTSClientEndpoint
-     * forces us to create a new one.
+     * forces us to create a new one. Null when a session cache is configured.
      */
     private volatile RefreshableTask<SessionCredentialsHolder> refreshableTask;
 
+    /**
+     * Cache of sessions shared with other providers, may be null.
+     */
+    private final AssumeRoleSessionCache sessionCache;
+
+    /**
+     * Key of the session of this provider in the {@link #sessionCache}.
+     */
+    private final AssumeRoleSessionCache.SessionKey sessionKey;
+
+    /**
+     * Session of this provider in the {@link #sessionCache}, looked up again once evicted.
+     */
+    private volatile AssumeRoleSessionCache.Session cachedSession;
+
     /**
      * Constructs a new STSAssumeRoleSessionCredentialsProvider, which makes a request to the AWS
      * Security Token Service (STS), uses the provided {@link #roleArn} to assume a role and then
@@ -226,8 +241,18 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
             this.roleSessionDurationSeconds = DEFAULT_DURATION_SECONDS;
         }
 
-        this.refreshableTask = createRefreshableTask();
         this.scopeDownPolicy = builder.scopeDownPolicy;
+
+        this.sessionCache = builder.sessionCache;
+        if (sessionCache == null) {
+            this.sessionKey = null;
+            this.refreshableTask = createRefreshableTask();
+        } else {
+            // The session is refreshed by the cache, so that it does not keep this provider reachable
+            this.sessionKey = new AssumeRoleSessionCache.SessionKey(
+                    securityTokenService, roleArn, roleSessionName, roleExternalId,
+                    roleSessionDurationSeconds, scopeDownPolicy);
+        }
     }
 
     /**
@@ -288,18 +313,38 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
     @Deprecated
     public synchronized void setSTSClientEndpoint(String endpoint) {
         securityTokenService.setEndpoint(endpoint);
-        this.refreshableTask = createRefreshableTask();
+        if (sessionCache == null) {
+            this.refreshableTask = createRefreshableTask();
+        } else {
+            sessionCache.invalidate(sessionKey);
+        }
     }
 
 
     @Override
     public AWSSessionCredentials getCredentials() {
-        return refreshableTask.getValue().getSessionCredentials();
+        return getRefreshableTask().getValue().getSessionCredentials();
     }
 
     @Override
     public void refresh() {
-        refreshableTask.forceGetValue();
+        getRefreshableTask().forceGetValue();
+    }
+
+    /**
+     * @return The task refreshing the session of this provider, shared with other providers when
+     *         a session cache is configured.
+     */
+    private RefreshableTask<SessionCredentialsHolder> getRefreshableTask() {
+        if (sessionCache == null) {
+            return refreshableTask;
+        }
+        AssumeRoleSessionCache.Session session = cachedSession;
+        if (session == null || session.evicted) {
+            session = sessionCache.getSession(sessionKey);
+            cachedSession = session;
+        }
+        return session.refreshableTask;
     }
 
     /**
@@ -338,6 +383,7 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
         private int roleSessionDurationSeconds;
         private String scopeDownPolicy;
         private AWSSecurityTokenService sts;
+        private AssumeRoleSessionCache sessionCache;
 
         /**
          * @param roleArn         Required roleArn parameter used when starting a session
@@ -541,6 +587,19 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
             return this;
         }
 
+        /**
+         * Sets a cache of sessions to share with other providers. Providers using the same cache
+         * and STS client, and assuming the same role with the same session name, external id,
+         * duration and scope down policy, share a single session, refreshed once for all of them.
+         *
+         * @param sessionCache Cache of sessions to use.
+         * @return This object for chained calls.
+         */
+        public Builder withSessionCache(AssumeRoleSessionCache sessionCache) {
+            this.sessionCache = sessionCache;
+            return this;
+        }
+
         /**
          * Build the configured provider
          *
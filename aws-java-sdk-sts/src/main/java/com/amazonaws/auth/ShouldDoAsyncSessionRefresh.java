@@ -25,7 +25,8 @@ import java.util.concurrent.TimeUnit;
  * Predicate to determine when it is sufficient to do an async refresh of session credentials and
  * return existing credentials to the caller. This is done within a comfortable margin of session
  * expiration so we can optimistically fetch new credentials from STS and never have to block the
- * caller.
+ * caller. Each predicate adds a random jitter to that margin so that many sessions started at the
+ * same time are not all refreshed at the same time.
  */
 @SdkInternalApi
 @ThreadSafe
@@ -36,12 +37,20 @@ class ShouldDoAsyncSessionRefresh extends SdkPredicate<SessionCredentialsHolder>
      */
     private static final long ASYNC_REFRESH_EXPIRATION_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
 
+    /**
+     * Upper bound of the random time added to {@link #ASYNC_REFRESH_EXPIRATION_IN_MILLIS}.
+     */
+    private static final long MAX_JITTER_IN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final long asyncRefreshExpirationInMillis =
+            ASYNC_REFRESH_EXPIRATION_IN_MILLIS + (long) (Math.random() * MAX_JITTER_IN_MILLIS);
+
     @Override
     public boolean test(SessionCredentialsHolder sessionCredentialsHolder) {
         Date expiryTime = sessionCredentialsHolder.getSessionCredentialsExpiration();
         if (expiryTime != null) {
             long timeRemaining = expiryTime.getTime() - System.currentTimeMillis();
-            return timeRemaining < ASYNC_REFRESH_EXPIRATION_IN_MILLIS;
+            return timeRemaining < asyncRefreshExpirationInMillis;
         }
         return false;
     }